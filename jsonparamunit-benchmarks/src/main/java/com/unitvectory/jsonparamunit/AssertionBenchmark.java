@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Benchmarks asserting the actual output matches the expected output in each of the forms the base
+ * classes produce it.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AssertionBenchmark {
+
+    private static final JsonNodeComparator COMPARATOR = new JsonNodeComparator(true);
+
+    private static final JsonParamUnitConfig JSON_ASSERT =
+            JsonParamUnitConfig.builder().comparisonMode(ComparisonMode.JSON_ASSERT).build();
+
+    /**
+     * Compares two JsonNode trees, as JsonNodeParamUnit does.
+     *
+     * @param state the payload
+     * @return the difference; null if they match
+     */
+    @Benchmark
+    public String compareTrees(PayloadState state) {
+        return COMPARATOR.compare(state.node, state.copy);
+    }
+
+    /**
+     * Compares a String as it is parsed, as JsonStringParamUnit does.
+     *
+     * @param state the payload
+     * @return the difference; null if they match
+     */
+    @Benchmark
+    public String compareJson(PayloadState state) {
+        return state.config.getCodec().compareJson(COMPARATOR, state.node, state.json, "output");
+    }
+
+    /**
+     * Compares the serialization events of a Java object, as JsonClassParamUnit does.
+     *
+     * @param state the payload
+     * @return the difference; null if they match
+     */
+    @Benchmark
+    public String compareValue(PayloadState state) {
+        return state.config.getCodec().compareValue(COMPARATOR, state.node, state.value,
+                "output");
+    }
+
+    /**
+     * Encodes both trees as Strings and compares them with JSONAssert, as the JSON_ASSERT
+     * comparison mode does.
+     *
+     * @param state the payload
+     */
+    @Benchmark
+    public void jsonAssert(PayloadState state) {
+        new JsonNodeParamUnit(JSON_ASSERT) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return input;
+            }
+        }.assertOutput(state.node, state.copy, JsonParamTimer.DISABLED);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Benchmarks the conversions performed by each of the base classes, both on their own and as part
+ * of running a complete test file through a process that returns its input.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConversionBenchmark {
+
+    /**
+     * Encodes a JsonNode as a String, as JsonStringParamUnit does with its input.
+     *
+     * @param state the payload
+     * @return the String
+     */
+    @Benchmark
+    public String nodeToString(PayloadState state) {
+        return JsonConverter.jsonNodeToString(state.config.getCodec().getWriter(), state.node,
+                "input");
+    }
+
+    /**
+     * Parses a String into a JsonNode, as JsonStringParamUnit does with its output in the
+     * JSON_ASSERT comparison mode.
+     *
+     * @param state the payload
+     * @return the JsonNode
+     */
+    @Benchmark
+    public JsonNode stringToNode(PayloadState state) {
+        return JsonConverter.stringToJsonNode(state.config.getCodec().getReader(), state.json,
+                "output");
+    }
+
+    /**
+     * Binds the bytes of the payload to a Java Class, as JsonClassParamUnit does with its input.
+     *
+     * @param state the payload
+     * @return the value
+     */
+    @Benchmark
+    public Object bindClass(PayloadState state) {
+        JsonSlice slice = new JsonSlice(state.config.getCodec().getReader(), state.payload);
+        return slice.bind(state.config.getCodec().getReader().forType(Object.class), "input");
+    }
+
+    /**
+     * Converts a Java object into a JsonNode, as JsonClassParamUnit does with its output in the
+     * JSON_ASSERT comparison mode.
+     *
+     * @param state the payload
+     * @return the JsonNode
+     */
+    @Benchmark
+    public JsonNode valueToTree(PayloadState state) {
+        return state.config.getCodec().valueToTree(state.value, "output");
+    }
+
+    /**
+     * Runs the test file with JsonNodeParamUnit.
+     *
+     * @param state the payload
+     */
+    @Benchmark
+    public void runNode(PayloadState state) {
+        new NodeUnit(state.config).run(state.file.toString());
+    }
+
+    /**
+     * Runs the test file with JsonStringParamUnit.
+     *
+     * @param state the payload
+     */
+    @Benchmark
+    public void runString(PayloadState state) {
+        new StringUnit(state.config).run(state.file.toString());
+    }
+
+    /**
+     * Runs the test file with JsonClassParamUnit.
+     *
+     * @param state the payload
+     */
+    @Benchmark
+    public void runClass(PayloadState state) {
+        new ClassUnit(state.config).run(state.file.toString());
+    }
+
+    /**
+     * Runs the test file with JsonStreamParamUnit.
+     *
+     * @param state the payload
+     */
+    @Benchmark
+    public void runStream(PayloadState state) {
+        new StreamUnit(state.config).run(state.file.toString());
+    }
+
+    private static final class NodeUnit extends JsonNodeParamUnit {
+
+        private NodeUnit(JsonParamUnitConfig config) {
+            super(config);
+        }
+
+        @Override
+        protected JsonNode process(JsonNode input, String context) {
+            return input;
+        }
+    }
+
+    private static final class StringUnit extends JsonStringParamUnit {
+
+        private StringUnit(JsonParamUnitConfig config) {
+            super(config);
+        }
+
+        @Override
+        protected String process(String input, String context) {
+            return input;
+        }
+    }
+
+    private static final class ClassUnit extends JsonClassParamUnit<Object, Object> {
+
+        private ClassUnit(JsonParamUnitConfig config) {
+            super(Object.class, config);
+        }
+
+        @Override
+        protected Object process(Object input, String context) {
+            return input;
+        }
+    }
+
+    private static final class StreamUnit extends JsonStreamParamUnit {
+
+        private StreamUnit(JsonParamUnitConfig config) {
+            super(config);
+        }
+
+        @Override
+        protected void process(JsonParser input, JsonGenerator output, String context)
+                throws IOException {
+            input.nextToken();
+            output.copyCurrentStructure(input);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks reading the test file and parsing the test case envelopes out of it.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoadBenchmark {
+
+    private static final JsonParamUnitConfig READ_BYTES =
+            JsonParamUnitConfig.builder().fileLoadStrategy(FileLoadStrategy.READ_BYTES).build();
+
+    private static final JsonParamUnitConfig MEMORY_MAPPED = JsonParamUnitConfig.builder()
+            .fileLoadStrategy(FileLoadStrategy.MEMORY_MAPPED).build();
+
+    /**
+     * Reads the test file into a byte array.
+     *
+     * @param state the payload
+     * @return the contents of the test file
+     * @throws IOException if the test file could not be read
+     */
+    @Benchmark
+    public ByteBuffer fileLoadReadBytes(PayloadState state) throws IOException {
+        return JsonFileLoader.load(state.file, state.fileSize, READ_BYTES);
+    }
+
+    /**
+     * Memory maps the test file and touches every page of it.
+     *
+     * @param state the payload
+     * @return the sum of the bytes of the test file
+     * @throws IOException if the test file could not be read
+     */
+    @Benchmark
+    public long fileLoadMemoryMapped(PayloadState state) throws IOException {
+        ByteBuffer content = JsonFileLoader.load(state.file, state.fileSize, MEMORY_MAPPED);
+        long sum = 0;
+        for (int i = 0; i < content.limit(); i += 4096) {
+            sum += content.get(i);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Parses the envelope of the test file leaving the input and output as unparsed slices.
+     *
+     * @param state the payload
+     * @param blackhole the blackhole consuming the test cases
+     * @throws IOException if the test file could not be parsed
+     */
+    @Benchmark
+    public void envelope(PayloadState state, Blackhole blackhole) throws IOException {
+        Iterator<JsonParamCase> testCases =
+                JsonEnvelopeReader.read(state.config.getCodec().getReader(), state.content, "file");
+        while (testCases.hasNext()) {
+            blackhole.consume(testCases.next());
+        }
+    }
+
+    /**
+     * Parses the envelope of the test file and the input and output into JsonNode trees.
+     *
+     * @param state the payload
+     * @param blackhole the blackhole consuming the parsed values
+     * @throws IOException if the test file could not be parsed
+     */
+    @Benchmark
+    public void envelopeAndTrees(PayloadState state, Blackhole blackhole) throws IOException {
+        Iterator<JsonParamCase> testCases =
+                JsonEnvelopeReader.read(state.config.getCodec().getReader(), state.content, "file");
+        while (testCases.hasNext()) {
+            JsonParamCase testCase = testCases.next();
+            blackhole.consume(testCase.getInput().getNode());
+            blackhole.consume(testCase.getOutput().getNode());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+/**
+ * The shapes of the generated payloads, each stressing a different part of the parsing.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public enum PayloadShape {
+
+    /**
+     * Objects nested 64 levels deep.
+     */
+    DEEP,
+
+    /**
+     * A single object with a large number of fields.
+     */
+    WIDE,
+
+    /**
+     * Arrays of arrays of numbers.
+     */
+    ARRAY;
+
+    private static final int DEPTH = 64;
+
+    private static final int ROW = 16;
+
+    /**
+     * Generates a JSON payload of this shape at least the given size in bytes.
+     *
+     * @param size the size in bytes
+     * @return the JSON payload
+     */
+    public String generate(int size) {
+        StringBuilder json = new StringBuilder(size + 1024);
+        json.append('{');
+        for (int i = 0; json.length() < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+
+            json.append("\"f").append(i).append("\":");
+            switch (this) {
+                case DEEP:
+                    json.append("{\"a\":".repeat(DEPTH)).append("{\"v\":").append(i)
+                            .append(",\"s\":\"value").append(i).append("\"}")
+                            .append("}".repeat(DEPTH));
+                    break;
+                case WIDE:
+                    json.append(i % 2 == 0 ? Integer.toString(i) : "\"value" + i + "\"");
+                    break;
+                default:
+                    json.append('[');
+                    for (int row = 0; row < ROW; row++) {
+                        json.append(row == 0 ? "[" : ",[");
+                        for (int column = 0; column < ROW; column++) {
+                            json.append(column == 0 ? "" : ",").append(i * row + column);
+                        }
+                        json.append(']');
+                    }
+                    json.append(']');
+                    break;
+            }
+        }
+
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * A generated test file holding the same payload as its input and output, available as the file,
+ * its bytes, the payload text and the parsed payload so each phase can be measured on its own.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+public class PayloadState {
+
+    /**
+     * The approximate size of the payload.
+     */
+    @Param({"1KB", "1MB", "50MB"})
+    public String size;
+
+    /**
+     * The shape of the payload.
+     */
+    @Param({"DEEP", "WIDE", "ARRAY"})
+    public PayloadShape shape;
+
+    /**
+     * The config used by every phase.
+     */
+    public final JsonParamUnitConfig config = JsonParamUnitConfig.builder().build();
+
+    /**
+     * The test file.
+     */
+    public Path file;
+
+    /**
+     * The size of the test file in bytes.
+     */
+    public long fileSize;
+
+    /**
+     * The contents of the test file.
+     */
+    public ByteBuffer content;
+
+    /**
+     * The text of the payload.
+     */
+    public String json;
+
+    /**
+     * The UTF-8 bytes of the payload.
+     */
+    public ByteBuffer payload;
+
+    /**
+     * The parsed payload.
+     */
+    public JsonNode node;
+
+    /**
+     * The payload parsed a second time so comparisons do not compare a tree against itself.
+     */
+    public JsonNode copy;
+
+    /**
+     * The payload bound to Java Maps and Lists.
+     */
+    public Object value;
+
+    /**
+     * Generates the test file.
+     *
+     * @throws IOException if the test file could not be written
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.json = this.shape.generate(parseSize(this.size));
+        this.file = Files.createTempFile("jsonparamunit-benchmark-", ".json");
+        Files.writeString(this.file, "{\"input\":" + this.json + ",\"output\":" + this.json + "}");
+        this.fileSize = Files.size(this.file);
+        this.content = ByteBuffer.wrap(Files.readAllBytes(this.file));
+        this.payload = ByteBuffer.wrap(this.json.getBytes(StandardCharsets.UTF_8));
+
+        ObjectReader reader = this.config.getCodec().getReader();
+        this.node = reader.readTree(this.json);
+        this.copy = reader.readTree(this.json);
+        this.value = reader.forType(Object.class).readValue(this.json);
+    }
+
+    /**
+     * Deletes the test file.
+     *
+     * @throws IOException if the test file could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    private static int parseSize(String size) {
+        if (size.endsWith("MB")) {
+            return Integer.parseInt(size.substring(0, size.length() - 2)) * 1024 * 1024;
+        }
+
+        return Integer.parseInt(size.substring(0, size.length() - 2)) * 1024;
+    }
+}
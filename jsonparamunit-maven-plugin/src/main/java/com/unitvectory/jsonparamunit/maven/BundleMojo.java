@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import com.unitvectory.jsonparamunit.JsonParamBundle;
+
+/**
+ * Compiles the test files in a test resources directory into a single JsonParamBundle that test
+ * cases are loaded from by random access instead of reading and parsing each test file.
+ *
+ * The goal runs after the test resources are copied so the bundle is written alongside them and is
+ * available on the test classpath. The size and last modified time of each copied test file are
+ * recorded so a test file changed after the bundle was written is read from the file instead.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Mojo(name = "bundle", defaultPhase = LifecyclePhase.PROCESS_TEST_RESOURCES, threadSafe = true)
+public class BundleMojo extends AbstractMojo {
+
+    /**
+     * The directory containing the test files.
+     */
+    @Parameter(required = true)
+    File directory;
+
+    /**
+     * The file the bundle is written to.
+     */
+    @Parameter(required = true)
+    File bundle;
+
+    /**
+     * The file extension of the test files.
+     */
+    @Parameter(defaultValue = ".json")
+    String fileExtension = ".json";
+
+    /**
+     * Whether test files in subdirectories are included, false by default as for JsonParamSource.
+     */
+    @Parameter(defaultValue = "false")
+    boolean recurse;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (!this.directory.isDirectory()) {
+            throw new MojoExecutionException(
+                    "The directory " + this.directory + " does not exist.");
+        }
+
+        try {
+            Files.createDirectories(this.bundle.getAbsoluteFile().toPath().getParent());
+            int count = JsonParamBundle.write(this.directory.toPath(), this.fileExtension,
+                    this.recurse, this.bundle.toPath());
+            getLog().info("Bundled " + count + " test files into " + this.bundle);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write the bundle " + this.bundle, e);
+        }
+    }
+}
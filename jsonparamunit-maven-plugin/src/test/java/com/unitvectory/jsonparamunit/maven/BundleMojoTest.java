@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit.maven;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.unitvectory.jsonparamunit.JsonParamBundle;
+
+/**
+ * Test the BundleMojo class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class BundleMojoTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void bundleTest() throws Exception {
+        Path directory = Files.createDirectories(this.tempDir.resolve("cases/sub"));
+        Files.writeString(directory.resolve("a.json"), "{\"input\":{},\"output\":{}}");
+        Files.writeString(directory.resolve("b.txt"), "ignored");
+        Files.writeString(directory.getParent().resolve("c.json"), "[]");
+
+        // Subdirectories are only included when asked, as for JsonParamSource
+        BundleMojo mojo = mojo(directory.getParent(), this.tempDir.resolve("out/cases.jpub"));
+        mojo.execute();
+        assertEquals(List.of("c.json"),
+                JsonParamBundle.open(mojo.bundle.toPath(), mojo.directory.toPath()).getNames());
+
+        mojo.recurse = true;
+        mojo.execute();
+        assertEquals(List.of("c.json", "sub/a.json"),
+                JsonParamBundle.open(mojo.bundle.toPath(), mojo.directory.toPath()).getNames());
+    }
+
+    @Test
+    public void directoryNotExistTest() {
+        BundleMojo mojo = mojo(this.tempDir.resolve("notexist"), this.tempDir.resolve("a.jpub"));
+        MojoExecutionException exception =
+                assertThrows(MojoExecutionException.class, mojo::execute);
+        assertEquals("The directory " + mojo.directory + " does not exist.",
+                exception.getMessage());
+    }
+
+    @Test
+    public void writeFailTest() throws Exception {
+        // The bundle cannot be written over a directory
+        Path bundle = Files.createDirectories(this.tempDir.resolve("a.jpub"));
+        BundleMojo mojo = mojo(this.tempDir, bundle);
+        assertThrows(MojoExecutionException.class, mojo::execute);
+    }
+
+    private static BundleMojo mojo(Path directory, Path bundle) {
+        BundleMojo mojo = new BundleMojo();
+        mojo.directory = directory.toFile();
+        mojo.bundle = bundle.toFile();
+        return mojo;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+/**
+ * The approach used to compare the actual output against the expected output.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public enum ComparisonMode {
+
+    /**
+     * Compares the Jackson JsonNode trees directly without encoding them as Strings, using
+     * assertJsonEquals(JsonNode, JsonNode) if the test class overrides it or the String comparison
+     * of JSON_ASSERT if the test class overrides only assertJsonEquals(String, String).
+     */
+    NATIVE,
+
+    /**
+     * Encodes both outputs as Strings and compares them using JSONAssert; retained for
+     * compatibility with the behavior of earlier versions.
+     */
+    JSON_ASSERT;
+}
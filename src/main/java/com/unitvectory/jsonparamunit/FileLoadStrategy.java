@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+/**
+ * The approach used to load the contents of a test file before it is parsed.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public enum FileLoadStrategy {
+
+    /**
+     * Reads the test file into a byte array on the heap.
+     */
+    READ_BYTES,
+
+    /**
+     * Memory maps the test file so its contents are parsed without being copied onto the heap.
+     */
+    MEMORY_MAPPED,
+
+    /**
+     * Reads test files into a byte array unless they are at least the configured memory map
+     * threshold in size, in which case they are memory mapped.
+     */
+    AUTO;
+}
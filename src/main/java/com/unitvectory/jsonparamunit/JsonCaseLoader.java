@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Utility library for loading the test cases from a test file.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@UtilityClass
+class JsonCaseLoader {
+
+    /**
+     * Load the test cases from the test file.
+     * 
+     * @param filePath the file path
+     * @param config the config
+     * @return the iterator of test cases
+     */
+    public static Iterator<JsonParamCase> load(String filePath, JsonParamUnitConfig config) {
+
+        if (filePath == null) {
+            throw new JsonParamError("The provided filePath is null.");
+        }
+
+        if (filePath.isEmpty()) {
+            throw new JsonParamError("The provided filePath is empty.");
+        }
+
+        return load(Path.of(filePath), null, config);
+    }
+
+    /**
+     * Load the test cases from the test file.
+     * 
+     * @param path the path to the test file
+     * @param name the name used to identify the test cases; null to use the file name
+     * @param config the config
+     * @return the iterator of test cases
+     */
+    public static Iterator<JsonParamCase> load(Path path, String name,
+            JsonParamUnitConfig config) {
+        return load(path, name, config.getBundle(), config);
+    }
+
+    /**
+     * Load the test cases from the test file or from the bundle if it holds the test file.
+     * 
+     * @param path the path to the test file
+     * @param name the name used to identify the test cases; null to use the file name
+     * @param bundle the bundle the test file is loaded from if unchanged; null to read the file
+     * @param config the config
+     * @return the iterator of test cases
+     */
+    public static Iterator<JsonParamCase> load(Path path, String name, JsonParamBundle bundle,
+            JsonParamUnitConfig config) {
+
+        // A single read of the attributes checks the file exists and is not a directory
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new JsonParamError("The provided filePath does not exist.");
+        }
+
+        if (!attributes.isRegularFile()) {
+            throw new JsonParamError("The provided filePath is not a regular file.");
+        }
+
+        String caseName = name == null ? path.getFileName().toString() : name;
+
+        // A test file in the bundle is loaded from it without reading the test file
+        String bundleName = bundle == null ? null : bundle.find(path, attributes);
+        if (bundleName != null) {
+            return bundle.load(bundleName, caseName, config);
+        }
+
+        if (config.getCache() == null) {
+            return read(path, caseName, attributes.size(), config);
+        }
+
+        return config.getCache().get(path, caseName, config, attributes, p -> {
+            List<JsonParamCase> testCases = new ArrayList<>();
+            read(p, caseName, attributes.size(), config).forEachRemaining(testCases::add);
+            return testCases;
+        });
+    }
+
+    private static Iterator<JsonParamCase> read(Path path, String name, long size,
+            JsonParamUnitConfig config) {
+
+        // Parse the test JSON
+
+        try {
+            // Load the file path to bytes
+            ByteBuffer content = JsonFileLoader.load(path, size, config);
+
+            // Stream the envelopes out of the test file in its format
+            JsonParamFormat format = JsonParamFormat.detect(config.getFormats(),
+                    path.getFileName().toString(), content);
+            if (format == null) {
+                return JsonEnvelopeReader.read(config.getCodec().getReader(), content, name);
+            }
+
+            return JsonEnvelopeReader.read(config.getCodec().getReader(format.getFactory()),
+                    content, name, format.isSliced());
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to parse the JSON from the test file.", e);
+        }
+    }
+}
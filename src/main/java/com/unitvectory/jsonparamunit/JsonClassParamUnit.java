@@ -8,7 +8,11 @@
  */
 package com.unitvectory.jsonparamunit;
 
+import java.util.function.LongSupplier;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
  * JSON based parameterized test case that provides the input and output as Java Classes parsed
@@ -18,7 +22,11 @@ import com.fasterxml.jackson.databind.JsonNode;
  */
 public abstract class JsonClassParamUnit<I, O> extends JsonNodeParamUnit {
 
-    private final Class<I> inputClass;
+    private final ObjectReader inputReader;
+
+    private final Class<?> outputClass;
+
+    private final ObjectWriter outputWriter;
 
     /**
      * Creates a new instance of the JsonClassParamUnit.
@@ -28,8 +36,7 @@ public abstract class JsonClassParamUnit<I, O> extends JsonNodeParamUnit {
      * @param inputClass the input class.
      */
     protected JsonClassParamUnit(Class<I> inputClass) {
-        super(JsonParamUnitConfig.builder().build());
-        this.inputClass = inputClass;
+        this(inputClass, JsonParamUnitConfig.defaults());
     }
 
     /**
@@ -40,20 +47,85 @@ public abstract class JsonClassParamUnit<I, O> extends JsonNodeParamUnit {
      */
     protected JsonClassParamUnit(Class<I> inputClass, JsonParamUnitConfig config) {
         super(config);
-        this.inputClass = inputClass;
+        this.inputReader = config.getCodec().getReader().forType(inputClass);
+
+        // Resolving the serializer of the output class O up front so the first test case does not
+        // pay for introspecting it; the deserializer of the input class I is already resolved by
+        // the ObjectReader
+        ObjectWriter writer = config.getCodec().getWriter();
+        JavaType outputType = config.isPrewarm() ? outputType(writer) : null;
+        this.outputClass = outputType == null ? null : outputType.getRawClass();
+        this.outputWriter = outputType == null ? writer : writer.forType(outputType);
+    }
+
+    private JavaType outputType(ObjectWriter writer) {
+        JavaType[] types = writer.getTypeFactory().constructType(this.getClass())
+                .findTypeParameters(JsonClassParamUnit.class);
+
+        // A raw or still generic subclass does not declare a concrete output class O
+        if (types.length != 2 || !types[1].isConcrete()
+                || types[1].getRawClass() == Object.class) {
+            return null;
+        }
+
+        return types[1];
+    }
+
+    private ObjectWriter outputWriter(O outputObject) {
+        // The prewarmed writer would only write the properties of O for a subclass of O
+        return outputObject == null || outputObject.getClass() == this.outputClass
+                ? this.outputWriter
+                : this.getConfig().getCodec().getWriter();
     }
 
     @Override
     protected final JsonNode process(JsonNode input, String context) {
 
         // Convert the input JsonNode to the class I
-        I inputObject = this.getConfig().getMapper().convertValue(input, inputClass);
+        I inputObject = new JsonSlice(input).bind(this.inputReader, "input");
 
         // Process the input, get back the output O
         O outputObject = process(inputObject, context);
 
         // Convert the output into a JsonNode
-        return this.getConfig().getMapper().convertValue(outputObject, JsonNode.class);
+        return this.getConfig().getCodec().valueToTree(outputWriter(outputObject), outputObject,
+                "output");
+    }
+
+    @Override
+    final void verify(JsonSlice input, String context, JsonSlice output, JsonParamTimer timer) {
+
+        // Bind the input directly to the class I without building a JsonNode tree
+        I inputObject = input.bind(this.inputReader, "input");
+        timer.lap(JsonParamPhase.PARSE);
+
+        // Process the input, get back the output O
+        O outputObject = process(inputObject, context);
+        timer.lap(JsonParamPhase.PROCESS);
+
+        JsonNode expectedOutputNode = output.getNode();
+        timer.lap(JsonParamPhase.PARSE);
+
+        if (!isCompareNatively()) {
+            JsonNode actualOutputNode = this.getConfig().getCodec()
+                    .valueToTree(outputWriter(outputObject), outputObject, "output");
+            timer.lap(JsonParamPhase.CONVERT);
+            assertOutput(expectedOutputNode, actualOutputNode, timer);
+        } else {
+            // Compare the buffered serialization events of the output O without building a
+            // JsonNode tree
+            assertValueEquals(expectedOutputNode, outputWriter(outputObject), outputObject);
+            timer.lap(JsonParamPhase.ASSERT);
+        }
+    }
+
+    @Override
+    final long measure(JsonSlice input, String context, LongSupplier meter) {
+        // Neither binding the input nor converting the output is measured
+        I inputObject = input.bind(this.inputReader, "input");
+        long start = meter.getAsLong();
+        process(inputObject, context);
+        return meter.getAsLong() - start;
     }
 
     /****
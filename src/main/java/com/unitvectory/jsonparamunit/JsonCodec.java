@@ -0,0 +1,176 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * The Jackson ObjectReader and ObjectWriter used to read and write JSON.
+ *
+ * The ObjectReader and ObjectWriter capture the configuration of the ObjectMapper when they are
+ * created and are immutable, so they are safe to share between threads running test cases
+ * concurrently and are not affected by later changes to the ObjectMapper. The bundle ObjectReader
+ * has the same configuration but reads the CBOR encoded test files of a {@link JsonParamBundle}.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Getter(AccessLevel.PACKAGE)
+final class JsonCodec {
+
+    private final ObjectReader reader;
+
+    private final ObjectWriter writer;
+
+    private final ObjectReader bundleReader;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<JsonFactory, ObjectReader> formatReaders = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of the JsonCodec.
+     *
+     * @param mapper the Jackson ObjectMapper providing the configuration
+     */
+    JsonCodec(ObjectMapper mapper) {
+        this.reader = mapper.reader();
+        this.writer = mapper.writer();
+        this.bundleReader = this.reader.with(new CBORFactory());
+    }
+
+    /**
+     * Gets the ObjectReader with the same configuration reading the format of a JsonFactory. The
+     * ObjectReader sets itself as the codec of its factory so it is given its own copy, leaving the
+     * factory of the format, which may be shared by other mappers, unchanged.
+     *
+     * @param factory the JsonFactory
+     * @return the ObjectReader
+     */
+    ObjectReader getReader(JsonFactory factory) {
+        return this.formatReaders.computeIfAbsent(factory, f -> this.reader.with(f.copy()));
+    }
+
+    /**
+     * Converts a value into a JsonNode by writing it with the ObjectWriter and reading the tokens
+     * back with the ObjectReader.
+     *
+     * @param value the value
+     * @param fieldName the field name used for error logging
+     * @return the JsonNode
+     */
+    JsonNode valueToTree(Object value, String fieldName) {
+        return valueToTree(this.writer, value, fieldName);
+    }
+
+    /**
+     * Converts a value into a JsonNode by writing it with an ObjectWriter with the same
+     * configuration, such as one for the type of the value, and reading the tokens back with the
+     * ObjectReader.
+     *
+     * @param writer the ObjectWriter
+     * @param value the value
+     * @param fieldName the field name used for error logging
+     * @return the JsonNode
+     */
+    JsonNode valueToTree(ObjectWriter writer, Object value, String fieldName) {
+        TokenBuffer buffer = new TokenBuffer(this.reader, false);
+        try {
+            writer.writeValue(buffer, value);
+            return this.reader.readTree(buffer.asParser(this.reader));
+        } catch (IOException e) {
+            throw new JsonParamError(
+                    "The '" + fieldName + "' object could not be converted to JSON.", e);
+        }
+    }
+
+    /**
+     * Compares a value against the expected JsonNode using the serialization events written by the
+     * ObjectWriter without converting the value into a JsonNode tree. The events are recorded in a
+     * TokenBuffer before they are compared, so the memory used still grows with the size of the
+     * value.
+     *
+     * @param comparator the comparator
+     * @param expected the expected JsonNode
+     * @param value the value
+     * @param fieldName the field name used for error logging
+     * @return the description of the first difference found; null if they match
+     */
+    String compareValue(JsonNodeComparator comparator, JsonNode expected, Object value,
+            String fieldName) {
+        return compareValue(comparator, expected, this.writer, value, fieldName);
+    }
+
+    /**
+     * Compares a value against the expected JsonNode using the serialization events written by an
+     * ObjectWriter with the same configuration, such as one for the type of the value, without
+     * converting the value into a JsonNode tree. The events are recorded in a TokenBuffer before
+     * they are compared, so the memory used still grows with the size of the value.
+     *
+     * @param comparator the comparator
+     * @param expected the expected JsonNode
+     * @param writer the ObjectWriter
+     * @param value the value
+     * @param fieldName the field name used for error logging
+     * @return the description of the first difference found; null if they match
+     */
+    String compareValue(JsonNodeComparator comparator, JsonNode expected, ObjectWriter writer,
+            Object value, String fieldName) {
+        TokenBuffer buffer = new TokenBuffer(this.reader, false);
+        try {
+            writer.writeValue(buffer, value);
+            return comparator.compare(expected, buffer, this.reader);
+        } catch (IOException e) {
+            throw new JsonParamError(
+                    "The '" + fieldName + "' object could not be converted to JSON.", e);
+        }
+    }
+
+    /**
+     * Compares a String of JSON against the expected JsonNode as it is parsed without building a
+     * JsonNode tree. The tree is only built to describe a difference, or when the JSON is invalid
+     * or contains the same field twice, so these are reported exactly as they were before.
+     *
+     * @param comparator the comparator
+     * @param expected the expected JsonNode
+     * @param json the String of JSON
+     * @param fieldName the field name used for error logging
+     * @return the description of the first difference found; null if they match
+     */
+    String compareJson(JsonNodeComparator comparator, JsonNode expected, String json,
+            String fieldName) {
+        if (json != null) {
+            // The parser holds no system resources as it reads from a String so it is not closed
+            try {
+                JsonParser parser = this.reader.createParser(json);
+                parser.setCodec(this.reader);
+                parser.enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION.mappedFeature());
+                if (comparator.matches(expected, parser)) {
+                    return null;
+                }
+            } catch (IOException e) {
+                // Reported by the tree comparison
+            }
+        }
+
+        return comparator.compare(expected,
+                JsonConverter.stringToJsonNode(this.reader, json, fieldName));
+    }
+}
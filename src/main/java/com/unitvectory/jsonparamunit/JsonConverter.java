@@ -10,7 +10,8 @@ package com.unitvectory.jsonparamunit;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -24,15 +25,15 @@ class JsonConverter {
     /**
      * Convert JsonNode to String
      * 
-     * @param objectMapper the Jackson ObjectMapper
+     * @param writer the Jackson ObjectWriter
      * @param jsonNode the JsonNode to encode
      * @param fieldName the file name used for error logging
      * @return the encoded String
      */
-    public static String jsonNodeToString(ObjectMapper objectMapper, JsonNode jsonNode,
+    public static String jsonNodeToString(ObjectWriter writer, JsonNode jsonNode,
             String fieldName) {
         try {
-            return objectMapper.writeValueAsString(jsonNode);
+            return writer.writeValueAsString(jsonNode);
         } catch (JsonProcessingException e) {
             throw new JsonParamError(
                     "The '" + fieldName + "' JSON Object could not be encoded as a String.", e);
@@ -42,15 +43,15 @@ class JsonConverter {
     /**
      * Convert String to JsonNode
      * 
-     * @param objectMapper the Jackson ObjectMapper
+     * @param reader the Jackson ObjectReader
      * @param jsonString the String to decode
      * @param fieldName the field name used for error logging
      * @return the decoded JsonNode
      */
-    public static JsonNode stringToJsonNode(ObjectMapper objectMapper, String jsonString,
+    public static JsonNode stringToJsonNode(ObjectReader reader, String jsonString,
             String fieldName) {
         try {
-            return objectMapper.readTree(jsonString);
+            return reader.readTree(jsonString);
         } catch (JsonProcessingException e) {
             throw new JsonParamError(
                     "The '" + fieldName + "' JSON String could not be decoded to JsonNode.", e);
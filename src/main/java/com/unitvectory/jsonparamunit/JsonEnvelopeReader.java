@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Utility library for reading the test case envelopes from a test file using the Jackson streaming
+ * parser.
+ * 
+ * A test file holds a single test case as a JSON Object, multiple test cases as a JSON Array of
+ * JSON Objects, or multiple test cases as newline delimited JSON Objects. The test cases are read
+ * one at a time as they are iterated.
+ * 
+ * Only the "context" and the optional "performance" budget are parsed into a JsonNode; all other
+ * fields are skipped without being parsed and the "input" and "output" are recorded as slices of
+ * the test file that are parsed once they are needed, allowing the input to be bound directly to a
+ * Java Class. The input and output of test files in a {@link JsonParamFormat} that is not sliced
+ * are parsed as they are read.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@UtilityClass
+class JsonEnvelopeReader {
+
+    /**
+     * Read the test cases from the contents of a test file.
+     * 
+     * @param reader the Jackson ObjectReader
+     * @param content the contents of the test file
+     * @param name the name of the test file used to name the test cases
+     * @return the iterator of test cases
+     * @throws IOException if the JSON could not be parsed
+     */
+    public static Iterator<JsonParamCase> read(ObjectReader reader, ByteBuffer content,
+            String name) throws IOException {
+        return read(reader, content, name, true);
+    }
+
+    /**
+     * Read the test cases from the contents of a test file.
+     * 
+     * @param reader the Jackson ObjectReader
+     * @param content the contents of the test file
+     * @param name the name of the test file used to name the test cases
+     * @param sliced true to record the input and output as slices of the test file; false to parse
+     *        them as they are read when values cannot be read on their own from their bytes
+     * @return the iterator of test cases
+     * @throws IOException if the JSON could not be parsed
+     */
+    public static Iterator<JsonParamCase> read(ObjectReader reader, ByteBuffer content,
+            String name, boolean sliced) throws IOException {
+        return new CaseIterator(reader, content, name, sliced);
+    }
+
+    /**
+     * Iterates through the test cases in a test file.
+     * 
+     * The parser holds no system resources as the contents are already loaded so it is not closed.
+     */
+    private static final class CaseIterator implements Iterator<JsonParamCase> {
+
+        private final ObjectReader reader;
+
+        private final ByteBuffer content;
+
+        private final JsonParser parser;
+
+        private final String name;
+
+        private final boolean sliced;
+
+        private final boolean array;
+
+        private int index;
+
+        private boolean failed;
+
+        private CaseIterator(ObjectReader reader, ByteBuffer content, String name,
+                boolean sliced) throws IOException {
+            this.reader = reader;
+            this.content = content;
+            this.name = name;
+            this.sliced = sliced;
+            this.parser = JsonFileLoader.createParser(reader, content);
+
+            // Move to the start of the first test case
+            this.array = this.parser.nextToken() == JsonToken.START_ARRAY;
+            if (this.array) {
+                this.parser.nextToken();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.failed) {
+                return false;
+            } else if (this.array) {
+                return this.parser.currentToken() != JsonToken.END_ARRAY;
+            }
+
+            // An empty file is still treated as a single test case
+            return this.index == 0 || this.parser.currentToken() != null;
+        }
+
+        @Override
+        public JsonParamCase next() {
+            int caseIndex = this.index++;
+            try {
+                return readCase(caseIndex);
+            } catch (IOException e) {
+                // The remainder of the test file cannot be read once the JSON is invalid
+                this.failed = true;
+                return JsonParamCase.failed(caseName(caseIndex, !this.array && caseIndex == 0),
+                        caseIndex,
+                        new JsonParamError("Failed to parse the JSON from the test file.", e));
+            }
+        }
+
+        private String caseName(int caseIndex, boolean single) {
+            return single ? this.name : this.name + "[" + caseIndex + "]";
+        }
+
+        private JsonParamCase readCase(int caseIndex) throws IOException {
+            JsonSlice input = null;
+            String context = null;
+            JsonSlice output = null;
+            JsonParamBudget budget = null;
+            JsonParamError budgetError = null;
+
+            ByteBuffer envelope = null;
+
+            JsonToken token = this.parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                long start = this.parser.currentTokenLocation().getByteOffset();
+                while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = this.parser.currentName();
+                    this.parser.nextToken();
+
+                    if ("input".equals(fieldName)) {
+                        input = slice();
+                    } else if ("context".equals(fieldName)) {
+                        JsonNode contextNode = this.reader.readTree(this.parser);
+                        context = contextNode.asText();
+                    } else if ("output".equals(fieldName)) {
+                        output = slice();
+                    } else if ("performance".equals(fieldName)) {
+                        // An invalid budget fails the test case once the rest of it has been read
+                        try {
+                            budget = JsonParamBudget.parse(this.reader.readTree(this.parser));
+                        } catch (JsonParamError e) {
+                            budgetError = e;
+                        }
+                    } else {
+                        this.parser.skipChildren();
+                    }
+                }
+
+                envelope = this.sliced ? JsonFileLoader.slice(this.content, start,
+                        this.parser.currentLocation().getByteOffset()) : null;
+            } else if (token != null) {
+                // Not a JSON Object, but it must still be valid JSON
+                this.parser.skipChildren();
+            }
+
+            // Move to the start of the next test case, a file holding a single test case has none
+            this.parser.nextToken();
+            String caseName = caseName(caseIndex,
+                    !this.array && caseIndex == 0 && this.parser.currentToken() == null);
+
+            // The input object
+            if (input == null) {
+                return JsonParamCase.failed(caseName, caseIndex, new JsonParamError(
+                        "The 'input' JSON Object is missing from the test file."));
+            }
+
+            // The output object
+            if (output == null) {
+                return JsonParamCase.failed(caseName, caseIndex, new JsonParamError(
+                        "The 'output' JSON Object is missing from the test file."));
+            }
+
+            // The performance budget
+            if (budgetError != null) {
+                return JsonParamCase.failed(caseName, caseIndex, budgetError);
+            }
+
+            return new JsonParamCase(caseName, caseIndex, input, context, output, budget, envelope,
+                    null, null);
+        }
+
+        private JsonSlice slice() throws IOException {
+            if (!this.sliced || !this.parser.currentToken().isStructStart()) {
+                // A scalar is a single token so there is nothing to gain by deferring it
+                return new JsonSlice(this.reader.readTree(this.parser));
+            }
+
+            long start = this.parser.currentTokenLocation().getByteOffset();
+            this.parser.skipChildren();
+            long end = this.parser.currentLocation().getByteOffset();
+
+            return new JsonSlice(this.reader,
+                    JsonFileLoader.slice(this.content, start, end));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Utility library for loading the raw bytes of test files and handing them to Jackson.
+ * 
+ * The bytes are given to Jackson directly so the file is never decoded into a String.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@UtilityClass
+class JsonFileLoader {
+
+    /**
+     * The largest test file that can be loaded, as the contents are held in a single ByteBuffer.
+     */
+    static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Load the contents of the test file.
+     * 
+     * Test files are limited to 2GB in size whether or not they are memory mapped.
+     * 
+     * @param path the path to the test file
+     * @param size the size of the test file
+     * @param config the config selecting the load strategy
+     * @return the contents of the test file
+     * @throws IOException if the file could not be read
+     */
+    public static ByteBuffer load(Path path, long size, JsonParamUnitConfig config)
+            throws IOException {
+        if (size > MAX_FILE_SIZE) {
+            throw new JsonParamError("The test file is larger than the 2GB limit.");
+        }
+
+        if (isMemoryMapped(size, config)) {
+            // The mapping remains valid after the channel is closed
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+
+        return ByteBuffer.wrap(Files.readAllBytes(path));
+    }
+
+    /**
+     * Parse the contents of the test file.
+     * 
+     * @param reader the Jackson ObjectReader
+     * @param content the contents of the test file
+     * @return the parsed JsonNode
+     * @throws IOException if the JSON could not be parsed
+     */
+    public static JsonNode readTree(ObjectReader reader, ByteBuffer content)
+            throws IOException {
+        if (content.hasArray()) {
+            return reader.readTree(content.array(),
+                    content.arrayOffset() + content.position(), content.remaining());
+        }
+
+        return reader.readTree(new ByteBufferBackedInputStream(content.duplicate()));
+    }
+
+    /**
+     * Bind the contents of the test file to a Java Class.
+     * 
+     * @param <T> the type of the value
+     * @param typeReader the Jackson ObjectReader for the type of the value
+     * @param content the contents of the test file
+     * @return the value
+     * @throws IOException if the JSON could not be bound
+     */
+    public static <T> T readValue(ObjectReader typeReader, ByteBuffer content)
+            throws IOException {
+        if (content.hasArray()) {
+            return typeReader.readValue(content.array(),
+                    content.arrayOffset() + content.position(), content.remaining());
+        }
+
+        return typeReader.readValue(new ByteBufferBackedInputStream(content.duplicate()));
+    }
+
+    /**
+     * Create a streaming parser over the contents of the test file.
+     * 
+     * @param reader the Jackson ObjectReader
+     * @param content the contents of the test file
+     * @return the parser
+     * @throws IOException if the parser could not be created
+     */
+    public static JsonParser createParser(ObjectReader reader, ByteBuffer content)
+            throws IOException {
+        if (content.hasArray()) {
+            return reader.createParser(content.array(),
+                    content.arrayOffset() + content.position(), content.remaining());
+        }
+
+        return reader.createParser(new ByteBufferBackedInputStream(content.duplicate()));
+    }
+
+    /**
+     * Slice a range of bytes out of the contents of the test file without copying them.
+     * 
+     * @param content the contents of the test file
+     * @param start the offset of the first byte relative to the start of the contents
+     * @param end the offset after the last byte relative to the start of the contents
+     * @return the slice
+     */
+    public static ByteBuffer slice(ByteBuffer content, long start, long end) {
+        ByteBuffer slice = content.duplicate();
+        // The contents are at most 2GB so the offsets always fit in an int
+        slice.position(content.position() + Math.toIntExact(start));
+        slice.limit(content.position() + Math.toIntExact(end));
+        return slice.slice();
+    }
+
+    private static boolean isMemoryMapped(long size, JsonParamUnitConfig config) {
+        return config.getFileLoadStrategy() == FileLoadStrategy.MEMORY_MAPPED
+                || (config.getFileLoadStrategy() == FileLoadStrategy.AUTO
+                        && size >= config.getMemoryMapThreshold());
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Compares two JsonNode trees directly without encoding them as Strings.
+ *
+ * In strict mode objects must contain exactly the same fields and arrays must be in the same order.
+ * In lenient mode the actual objects may contain additional fields and arrays may be in any order,
+ * matching the extensible and non-strict ordering semantics of JSONAssert. Numeric values are
+ * compared by value regardless of how they were parsed.
+ *
+ * Each difference is described by the JSON Pointer of where it was found along with the expected
+ * and actual values, with long values cut short. The tree is walked only until one more difference
+ * than the maximum reported is found so the cost of describing a large mismatch is bounded.
+ *
+ * The actual output may also be compared as the serialization events of an object, in which case
+ * objects and strictly ordered arrays are compared as the events are read without building a
+ * JsonNode tree; the tree is only built to describe a difference once one is found. The events are
+ * recorded in full in a TokenBuffer before the comparison starts, so the serialized output is
+ * still held in memory, only in a more compact form than a tree with no node per value.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class JsonNodeComparator {
+
+    /**
+     * The default maximum number of differences reported.
+     */
+    static final int DEFAULT_MAX_DIFFERENCES = 10;
+
+    /**
+     * The default maximum length of the values quoted in a difference.
+     */
+    static final int DEFAULT_MAX_SNIPPET_LENGTH = 200;
+
+    private final boolean strict;
+
+    private final int maxDifferences;
+
+    private final int maxSnippetLength;
+
+    /**
+     * Creates a new instance of the JsonNodeComparator reporting the default number of differences.
+     *
+     * @param strict true for strict comparison; false for lenient comparison
+     */
+    JsonNodeComparator(boolean strict) {
+        this(strict, DEFAULT_MAX_DIFFERENCES, DEFAULT_MAX_SNIPPET_LENGTH);
+    }
+
+    /**
+     * Creates a new instance of the JsonNodeComparator.
+     *
+     * @param strict true for strict comparison; false for lenient comparison
+     * @param maxDifferences the maximum number of differences reported; at least one is reported
+     * @param maxSnippetLength the maximum length of the values quoted in a difference
+     */
+    JsonNodeComparator(boolean strict, int maxDifferences, int maxSnippetLength) {
+        this.strict = strict;
+        this.maxDifferences = Math.max(1, maxDifferences);
+        this.maxSnippetLength = maxSnippetLength;
+    }
+
+    /**
+     * Compares the expected and actual JsonNode.
+     *
+     * @param expected the expected JsonNode
+     * @param actual the actual JsonNode; null is treated as a JSON null
+     * @return the description of the differences found, one per line; null if they match
+     */
+    String compare(JsonNode expected, JsonNode actual) {
+        Walk walk = new Walk(this.maxDifferences);
+        compareNodes(expected, actual == null ? NullNode.getInstance() : actual, walk);
+        return walk.result();
+    }
+
+    /**
+     * Compares the expected JsonNode against the serialization events of the actual output, all
+     * of which were recorded in the TokenBuffer before the comparison.
+     *
+     * @param expected the expected JsonNode
+     * @param actual the serialization events of the actual output
+     * @param reader the ObjectReader used to read the events
+     * @return the description of the differences found, one per line; null if they match
+     * @throws IOException if the events could not be read
+     */
+    String compare(JsonNode expected, TokenBuffer actual, ObjectReader reader)
+            throws IOException {
+        if (matches(expected, actual.asParser(reader))) {
+            return null;
+        }
+
+        // Read the events again into a tree to describe the difference
+        JsonNode actualNode = reader.readTree(actual.asParser(reader));
+        return compare(expected, actualNode);
+    }
+
+    /**
+     * Compares the expected JsonNode against the next value read by the parser without building a
+     * JsonNode tree; objects are assumed not to contain the same field twice.
+     *
+     * @param expected the expected JsonNode
+     * @param actual the parser positioned before the actual value
+     * @return true if they match; otherwise false
+     * @throws IOException if the value could not be read
+     */
+    boolean matches(JsonNode expected, JsonParser actual) throws IOException {
+        actual.nextToken();
+        return matchesValue(expected, actual);
+    }
+
+    private boolean matchesValue(JsonNode expected, JsonParser actual) throws IOException {
+        JsonToken token = actual.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return expected.isObject() && matchesObject(expected, actual);
+        } else if (token == JsonToken.START_ARRAY) {
+            return expected.isArray() && matchesArray(expected, actual);
+        } else if (token == null) {
+            return false;
+        }
+
+        JsonNode actualValue = actual.readValueAsTree();
+        return equivalent(expected, actualValue);
+    }
+
+    private boolean matchesObject(JsonNode expected, JsonParser actual) throws IOException {
+        // Without the same field twice counting the expected fields found is enough to know none
+        // are missing
+        int found = 0;
+        while (actual.nextToken() == JsonToken.FIELD_NAME) {
+            JsonNode expectedValue = expected.get(actual.currentName());
+            actual.nextToken();
+            if (expectedValue == null) {
+                if (this.strict) {
+                    return false;
+                }
+
+                actual.skipChildren();
+            } else if (matchesValue(expectedValue, actual)) {
+                found++;
+            } else {
+                return false;
+            }
+        }
+
+        return actual.currentToken() == JsonToken.END_OBJECT && found == expected.size();
+    }
+
+    private boolean matchesArray(JsonNode expected, JsonParser actual) throws IOException {
+        if (!this.strict) {
+            // Lenient arrays may be in any order so the elements must all be available
+            JsonNode actualValue = actual.readValueAsTree();
+            return equivalent(expected, actualValue);
+        }
+
+        int index = 0;
+        while (actual.nextToken() != JsonToken.END_ARRAY) {
+            if (index >= expected.size() || !matchesValue(expected.get(index), actual)) {
+                return false;
+            }
+
+            index++;
+        }
+
+        return index == expected.size();
+    }
+
+    /**
+     * Checks if the expected and actual JsonNode match without describing the difference.
+     *
+     * @param expected the expected JsonNode
+     * @param actual the actual JsonNode
+     * @return true if they match; otherwise false
+     */
+    boolean equivalent(JsonNode expected, JsonNode actual) {
+        // A walk that stops at the first difference without describing it
+        Walk probe = new Walk(0);
+        compareNodes(expected, actual, probe);
+        return !probe.stopped;
+    }
+
+    private void compareNodes(JsonNode expected, JsonNode actual, Walk walk) {
+        if (expected.isObject() && actual.isObject()) {
+            compareObjects(expected, actual, walk);
+        } else if (expected.isArray() && actual.isArray()) {
+            compareArrays(expected, actual, walk);
+        } else if (expected.isNumber() && actual.isNumber()) {
+            if (!numbersEqual(expected, actual)) {
+                walk.mismatch(expected, actual);
+            }
+        } else if (!expected.equals(actual)) {
+            walk.mismatch(expected, actual);
+        }
+    }
+
+    private void compareObjects(JsonNode expected, JsonNode actual, Walk walk) {
+        for (Map.Entry<String, JsonNode> field : expected.properties()) {
+            if (walk.stopped) {
+                return;
+            }
+
+            walk.path.addLast(field.getKey());
+            JsonNode actualValue = actual.get(field.getKey());
+            if (actualValue == null) {
+                walk.record("expected " + walk.describe(field.getValue()) + " but none found");
+            } else {
+                compareNodes(field.getValue(), actualValue, walk);
+            }
+            walk.path.removeLast();
+        }
+
+        if (this.strict) {
+            for (Map.Entry<String, JsonNode> field : actual.properties()) {
+                if (walk.stopped) {
+                    return;
+                }
+
+                if (!expected.has(field.getKey())) {
+                    walk.path.addLast(field.getKey());
+                    walk.record("unexpected " + walk.describe(field.getValue()));
+                    walk.path.removeLast();
+                }
+            }
+        }
+    }
+
+    private void compareArrays(JsonNode expected, JsonNode actual, Walk walk) {
+        if (expected.size() != actual.size()) {
+            walk.record("expected an array of " + expected.size()
+                    + " elements but was an array of " + actual.size() + " elements");
+            return;
+        }
+
+        if (this.strict) {
+            for (int i = 0; i < expected.size() && !walk.stopped; i++) {
+                walk.path.addLast(i);
+                compareNodes(expected.get(i), actual.get(i), walk);
+                walk.path.removeLast();
+            }
+
+            return;
+        }
+
+        // Lenient arrays may be in any order, each expected element claims the first unclaimed
+        // actual element it matches starting from its own index so ordered arrays stay linear
+        boolean[] claimed = new boolean[actual.size()];
+        for (int i = 0; i < expected.size() && !walk.stopped; i++) {
+            if (!claim(expected.get(i), actual, claimed, i)) {
+                walk.path.addLast(i);
+                walk.record("expected " + walk.describe(expected.get(i))
+                        + " but no matching element found");
+                walk.path.removeLast();
+            }
+        }
+    }
+
+    private boolean claim(JsonNode expected, JsonNode actual, boolean[] claimed, int start) {
+        for (int offset = 0; offset < claimed.length; offset++) {
+            int index = (start + offset) % claimed.length;
+            if (!claimed[index] && equivalent(expected, actual.get(index))) {
+                claimed[index] = true;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Formats the path of a difference as a JSON Pointer.
+     *
+     * @param path the field names and array indexes from the root
+     * @return the JSON Pointer; "(root)" for the root
+     */
+    static String pointer(Collection<Object> path) {
+        if (path.isEmpty()) {
+            return "(root)";
+        }
+
+        StringBuilder pointer = new StringBuilder();
+        for (Object segment : path) {
+            pointer.append('/').append(segment.toString().replace("~", "~0").replace("/", "~1"));
+        }
+
+        return pointer.toString();
+    }
+
+    /**
+     * Describes a value in a difference; only the start of long values is copied.
+     *
+     * @param node the value
+     * @param maxSnippetLength the maximum length of the value quoted
+     * @return the description
+     */
+    static String describe(JsonNode node, int maxSnippetLength) {
+        if (node.isObject()) {
+            return "an object";
+        } else if (node.isArray()) {
+            return "an array";
+        }
+
+        if (node.isTextual()) {
+            String text = node.textValue();
+            return text.length() > maxSnippetLength
+                    ? TextNode.valueOf(text.substring(0, maxSnippetLength)).toString() + "..."
+                    : node.toString();
+        }
+
+        String snippet = node.toString();
+        return snippet.length() > maxSnippetLength ? snippet.substring(0, maxSnippetLength) + "..."
+                : snippet;
+    }
+
+    private static boolean numbersEqual(JsonNode expected, JsonNode actual) {
+        if (expected.isIntegralNumber() && actual.isIntegralNumber()) {
+            if (expected.canConvertToLong() && actual.canConvertToLong()) {
+                return expected.longValue() == actual.longValue();
+            }
+
+            return expected.bigIntegerValue().equals(actual.bigIntegerValue());
+        }
+
+        return expected.doubleValue() == actual.doubleValue();
+    }
+
+    /**
+     * The state of a single comparison collecting the differences found up to the limit; the path
+     * is kept as the raw field names and indexes and only formatted as a JSON Pointer once a
+     * difference is found so matching trees do not pay for it.
+     */
+    private final class Walk {
+
+        private final Deque<Object> path = new ArrayDeque<>();
+
+        private final List<String> differences = new ArrayList<>();
+
+        private final int limit;
+
+        private boolean stopped;
+
+        private Walk(int limit) {
+            this.limit = limit;
+        }
+
+        private void mismatch(JsonNode expected, JsonNode actual) {
+            record("expected " + describe(expected) + " but was " + describe(actual));
+        }
+
+        private void record(String message) {
+            if (this.differences.size() == this.limit) {
+                // One difference past the limit is enough to know there are more
+                this.stopped = true;
+                return;
+            }
+
+            this.differences.add(pointer(this.path) + ": " + message);
+        }
+
+        private String describe(JsonNode node) {
+            return JsonNodeComparator.describe(node, JsonNodeComparator.this.maxSnippetLength);
+        }
+
+        private String result() {
+            if (this.differences.isEmpty()) {
+                return null;
+            } else if (this.stopped) {
+                return String.join("\n", this.differences) + "\n(only the first " + this.limit
+                        + " differences are reported)";
+            }
+
+            return String.join("\n", this.differences);
+        }
+    }
+}
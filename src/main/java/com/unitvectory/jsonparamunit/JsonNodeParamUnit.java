@@ -8,10 +8,14 @@
  */
 package com.unitvectory.jsonparamunit;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongSupplier;
 import org.json.JSONException;
+import org.opentest4j.TestAbortedException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.unitvectory.jsonassertify.JSONAssert;
 
 import lombok.AccessLevel;
@@ -27,11 +31,19 @@ public abstract class JsonNodeParamUnit {
     @Getter(value = AccessLevel.PROTECTED)
     private final JsonParamUnitConfig config;
 
+    private final JsonCodec codec;
+
+    private final JsonNodeComparator comparator;
+
+    private final boolean compareStrings;
+
+    private final boolean compareNatively;
+
     /**
      * Constructs a new instance of the JsonNodeParamUnit class using the default mapper.
      */
     public JsonNodeParamUnit() {
-        this(JsonParamUnitConfig.builder().build());
+        this(JsonParamUnitConfig.defaults());
     }
 
     /**
@@ -41,6 +53,31 @@ public abstract class JsonNodeParamUnit {
      */
     public JsonNodeParamUnit(JsonParamUnitConfig config) {
         this.config = config;
+        this.codec = config.getCodec();
+        this.comparator = new JsonNodeComparator(config.isStrictOutput(),
+                config.getMaxDifferences(), config.getMaxSnippetLength());
+
+        // A test class overriding only the String comparison keeps it as it did before the native
+        // comparison, and the outputs are only compared without building trees if neither
+        // comparison is overridden
+        boolean stringOverridden = overrides(String.class);
+        boolean nodeOverridden = overrides(JsonNode.class);
+        this.compareStrings = config.getComparisonMode() == ComparisonMode.JSON_ASSERT
+                || stringOverridden && !nodeOverridden;
+        this.compareNatively = !this.compareStrings && !nodeOverridden;
+    }
+
+    private boolean overrides(Class<?> type) {
+        for (Class<?> c = getClass(); c != JsonNodeParamUnit.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("assertJsonEquals", type, type);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Not declared by this class
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -66,74 +103,260 @@ public abstract class JsonNodeParamUnit {
      * can be used to modify the processing. The "output" JSON Object is what will be copared to the
      * output.
      * 
+     * The file may also hold multiple test cases either as a JSON Array of these JSON Objects or as
+     * newline delimited JSON Objects. Every test case is run and the failures of the individual
+     * test cases are reported together identified by their index within the file.
+     * 
      * @param filePath the file path
      */
     protected final void run(String filePath) {
+        JsonParamTimer timer = JsonParamTimer.of(this.config.getListeners());
+        timer.start(null);
+        Iterator<JsonParamCase> testCases = JsonCaseLoader.load(filePath, this.config);
 
-        if (filePath == null) {
-            throw new JsonParamError("The provided filePath is null.");
-        }
+        List<JsonParamError> failures = new ArrayList<>();
+        StringBuilder messages = new StringBuilder();
+        int count = 0;
+        int skipped = 0;
+        while (testCases.hasNext()) {
+            JsonParamCase testCase = testCases.next();
+            timer.lap(testCase.getName(), JsonParamPhase.LOAD);
+            count++;
 
-        if (filePath.isEmpty()) {
-            throw new JsonParamError("The provided filePath is empty.");
-        }
+            try {
+                runCase(testCase, timer);
+            } catch (TestAbortedException e) {
+                skipped++;
+            } catch (JsonParamError e) {
+                failures.add(e);
+                messages.append("\nTest case ").append(testCase.getIndex()).append(": ")
+                        .append(e.getMessage());
+            }
 
-        Path path = Path.of(filePath);
+            // Reading the next test case starts once this one is finished
+            timer.start(null);
+        }
 
-        // Check if the file exists
+        if (count == 0) {
+            throw new JsonParamError("The test file does not contain any test cases.");
+        } else if (count == 1 && failures.size() == 1) {
+            // A file with a single test case reports the failure as is
+            throw failures.get(0);
+        } else if (!failures.isEmpty()) {
+            JsonParamError error = new JsonParamError(failures.size() + " of " + count
+                    + " test cases in the test file failed." + messages);
+            failures.forEach(error::addSuppressed);
+            throw error;
+        } else if (skipped == count) {
+            // Reported to JUnit as skipped rather than passed as nothing was run
+            throw new TestAbortedException("All " + count
+                    + " test cases in the test file passed in an earlier run.");
+        }
+    }
 
-        if (!Files.exists(path)) {
-            throw new JsonParamError("The provided filePath does not exist.");
+    /**
+     * The method to run a single test case given the path to the JSON file containing it and the
+     * index of the test case within that file.
+     * 
+     * @param filePath the file path
+     * @param index the index of the test case starting at 0
+     */
+    protected final void run(String filePath, int index) {
+        JsonParamTimer timer = JsonParamTimer.of(this.config.getListeners());
+        timer.start(null);
+        Iterator<JsonParamCase> testCases = JsonCaseLoader.load(filePath, this.config);
+        while (testCases.hasNext()) {
+            JsonParamCase testCase = testCases.next();
+            if (testCase.getIndex() == index) {
+                timer.lap(testCase.getName(), JsonParamPhase.LOAD);
+                runCase(testCase, timer);
+                return;
+            }
         }
 
-        // Check if the file is a directory
+        throw new JsonParamError("The test file does not contain test case " + index + ".");
+    }
 
-        if (!Files.isRegularFile(path)) {
-            throw new JsonParamError("The provided filePath is not a regular file.");
+    /**
+     * The method to run a test case that has already been loaded, such as those provided by
+     * {@link JsonParamSource}.
+     * 
+     * @param testCase the test case
+     */
+    protected final void runCase(JsonParamCase testCase) {
+
+        if (testCase == null) {
+            throw new JsonParamError("The provided testCase is null.");
         }
 
-        // Parse the test JSON
+        // Parsing with the wrong config, such as without its mapper or formats, must not pass
+        if (testCase.getConfig() != null && !testCase.getConfig().equals(this.config)) {
+            throw new JsonParamError("The test case was parsed with the default config as the "
+                    + "test instance was not available; provide the config with the config "
+                    + "attribute of JsonParamSource or use the per class test instance lifecycle.");
+        }
 
-        JsonNode rootNode = null;
-        try {
-            // Load the file path to string
-            String file = Files.readString(path);
+        JsonParamTimer timer = JsonParamTimer.of(this.config.getListeners());
+        timer.start(testCase.getName());
+        runCase(testCase, timer);
+    }
 
-            // Parse the JSON
-            rootNode = this.config.getMapper().readTree(file);
-        } catch (Exception e) {
-            throw new JsonParamError("Failed to parse the JSON from the test file.", e);
+    /**
+     * Runs a test case reporting its phases to the timer.
+     * 
+     * @param testCase the test case
+     * @param timer the timer of the phases
+     */
+    final void runCase(JsonParamCase testCase, JsonParamTimer timer) {
+        if (testCase.getError() != null) {
+            throw testCase.getError();
         }
 
-        // The input object
-        if (!rootNode.has("input")) {
-            throw new JsonParamError("The 'input' JSON Object is missing from the test file.");
+        // Test cases that passed in a previous run with the same test class, classpath and config
+        JsonParamResultCache results = this.config.getResultCache();
+        String key = results == null || testCase.getEnvelope() == null ? null
+                : results.key(this.getClass(), this.config, testCase.getEnvelope());
+        if (key != null && results.hasPassed(key)) {
+            throw new TestAbortedException("The test case passed in an earlier run.");
         }
 
-        JsonNode inputNode = rootNode.get("input");
-
-        // The optional context
-        String context = rootNode.has("context") ? rootNode.get("context").asText() : null;
+        // The performance budget is measured against an input that process has not modified
+        JsonParamBudget budget = testCase.getBudget();
+        JsonSlice input = budget == null ? testCase.getInput() : testCase.getInput().copy();
+        verify(testCase.getInput(), testCase.getContext(), testCase.getOutput(), timer);
 
-        // The output object
-        if (!rootNode.has("output")) {
-            throw new JsonParamError("The 'output' JSON Object is missing from the test file.");
+        // Only once the output is known to be correct
+        if (budget != null) {
+            budget.assertWithin(meter -> measure(input, testCase.getContext(), meter));
         }
 
-        JsonNode expectedOutputNode = rootNode.get("output");
+        if (key != null) {
+            results.recordPassed(this.getClass(), key);
+        }
+    }
 
-        // The output must also be encoded as a string to utilize JSONAssert
-        String expectedOutput = JsonConverter.jsonNodeToString(this.config.getMapper(),
-                expectedOutputNode, "output");
+    /**
+     * Processes the input of a test case and asserts the actual output matches the expected output.
+     * 
+     * @param input the input
+     * @param context the context
+     * @param output the expected output
+     * @param timer the timer of the phases
+     */
+    void verify(JsonSlice input, String context, JsonSlice output, JsonParamTimer timer) {
+        JsonNode inputNode = input.getNode();
+        timer.lap(JsonParamPhase.PARSE);
 
         // Process the input to produce the actual output
         JsonNode actualOutputNode = process(inputNode, context);
-        String actualOutput = JsonConverter.jsonNodeToString(this.config.getMapper(),
-                actualOutputNode, "actualOutput");
+        timer.lap(JsonParamPhase.PROCESS);
+
+        // The expected output is not parsed until it is needed
+        JsonNode expectedOutputNode = output.getNode();
+        timer.lap(JsonParamPhase.PARSE);
+
+        assertOutput(expectedOutputNode, actualOutputNode, timer);
+    }
+
+    /**
+     * Measures a single call to process; the input is prepared before the call is measured and the
+     * output is discarded.
+     * 
+     * @param input the input, which is not modified
+     * @param context the context
+     * @param meter the meter read immediately before and after the call
+     * @return the difference of the meter across the call
+     */
+    long measure(JsonSlice input, String context, LongSupplier meter) {
+        JsonNode inputNode = input.copy().getNode();
+        long start = meter.getAsLong();
+        process(inputNode, context);
+        return meter.getAsLong() - start;
+    }
+
+    /**
+     * Checks if the outputs can be compared without building a JsonNode tree of the actual output,
+     * as the comparison mode is NATIVE and neither assertJsonEquals method is overridden.
+     * 
+     * @return true to compare the outputs natively
+     */
+    final boolean isCompareNatively() {
+        return this.compareNatively;
+    }
+
+    /**
+     * Asserts the actual output matches the expected output using the configured comparison mode,
+     * or the String comparison if it is the only one overridden.
+     * 
+     * @param expectedOutputNode the expected output
+     * @param actualOutputNode the actual output
+     * @param timer the timer of the phases
+     */
+    final void assertOutput(JsonNode expectedOutputNode, JsonNode actualOutputNode,
+            JsonParamTimer timer) {
 
         // Assert the actual output matches the expected output
         // This is the actual purpose of the test case.
-        assertJsonEquals(expectedOutput, actualOutput);
+        if (this.compareStrings) {
+            // The outputs must be encoded as strings to utilize JSONAssert
+            String expectedOutput = JsonConverter.jsonNodeToString(this.codec.getWriter(),
+                    expectedOutputNode, "output");
+            String actualOutput = JsonConverter.jsonNodeToString(this.codec.getWriter(),
+                    actualOutputNode, "actualOutput");
+            timer.lap(JsonParamPhase.CONVERT);
+            assertJsonEquals(expectedOutput, actualOutput);
+        } else {
+            assertJsonEquals(expectedOutputNode, actualOutputNode);
+        }
+
+        timer.lap(JsonParamPhase.ASSERT);
+    }
+
+    /**
+     * Compares the JsonNode trees directly to verify they are equal.
+     * 
+     * @param expected the expected JSON
+     * @param actual the actual JSON
+     */
+    protected void assertJsonEquals(JsonNode expected, JsonNode actual) {
+        assertNoDifference(this.comparator.compare(expected, actual));
+    }
+
+    /**
+     * Compares the expected JsonNode against the serialization of the actual output object; a
+     * JsonNode tree is only built for the actual output to describe a difference. The serialization
+     * events are buffered in full before they are compared.
+     * 
+     * @param expected the expected JSON
+     * @param writer the ObjectWriter serializing the actual output object
+     * @param actual the actual output object
+     */
+    final void assertValueEquals(JsonNode expected, ObjectWriter writer, Object actual) {
+        assertNoDifference(
+                this.codec.compareValue(this.comparator, expected, writer, actual, "output"));
+    }
+
+    /**
+     * Compares the expected JsonNode against the String of JSON of the actual output as it is
+     * parsed; a JsonNode tree is only built for the actual output to describe a difference.
+     * 
+     * @param expected the expected JSON
+     * @param actual the actual JSON
+     */
+    final void assertJsonStringEquals(JsonNode expected, String actual) {
+        assertNoDifference(this.codec.compareJson(this.comparator, expected, actual, "output"));
+    }
+
+    /**
+     * Asserts no difference was found between the actual and expected output.
+     * 
+     * @param difference the description of the differences; null if none were found
+     */
+    static void assertNoDifference(String difference) {
+        if (difference != null) {
+            throw new JsonParamError(
+                    "The actual output does not match the expected output.\n" + difference);
+        }
     }
 
     /**
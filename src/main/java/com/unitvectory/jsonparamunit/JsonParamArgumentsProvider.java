@@ -0,0 +1,262 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+import org.junit.jupiter.params.support.ParameterDeclarations;
+
+/**
+ * The ArgumentsProvider for {@link JsonParamSource}.
+ *
+ * The test files are parsed on a pool of threads shared by every provider in the JVM.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class JsonParamArgumentsProvider
+        implements ArgumentsProvider, AnnotationConsumer<JsonParamSource> {
+
+    private static final ForkJoinPool POOL =
+            new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private JsonParamSource source;
+
+    @Override
+    public void accept(JsonParamSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ParameterDeclarations parameters,
+            ExtensionContext context) throws Exception {
+        URL resource = context.getRequiredTestClass().getResource(this.source.resources());
+        if (resource == null) {
+            throw new JsonParamError("The provided resources directory does not exist.");
+        }
+
+        Path directory =
+                path(resource, "The provided resources directory must not be inside a jar.");
+        List<Path> files;
+        try (Stream<Path> paths =
+                Files.walk(directory, this.source.recurse() ? Integer.MAX_VALUE : 1)) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(this.source.fileExtension()))
+                    .sorted().collect(Collectors.toList());
+        }
+
+        // Only the test files of the shard selected by the system properties
+        Map<String, Path> names = new LinkedHashMap<>();
+        for (Path file : files) {
+            names.put(name(directory, file), file);
+        }
+
+        files = JsonParamShard.shared().select(new ArrayList<>(names.keySet())).stream()
+                .map(names::get).collect(Collectors.toList());
+
+        Class<?> testClass = context.getRequiredTestClass();
+        JsonParamUnitConfig config = this.source.config().isEmpty()
+                ? context.getTestInstance().filter(JsonNodeParamUnit.class::isInstance)
+                        .map(instance -> ((JsonNodeParamUnit) instance).getConfig()).orElse(null)
+                : config(testClass, this.source.config());
+
+        // The input is bound or streamed from the test file rather than read as a tree by these
+        boolean parseInput = !JsonClassParamUnit.class.isAssignableFrom(testClass)
+                && !JsonStreamParamUnit.class.isAssignableFrom(testClass)
+                && (config == null || !config.isRawStringInput());
+
+        JsonParamBundle bundle = null;
+        if (!this.source.bundle().isEmpty()) {
+            URL bundleResource = testClass.getResource(this.source.bundle());
+            if (bundleResource == null) {
+                throw new JsonParamError("The provided bundle does not exist.");
+            }
+
+            bundle = JsonParamBundle.open(
+                    path(bundleResource, "The provided bundle must not be inside a jar."),
+                    directory);
+        }
+
+        int parallelism = this.source.parallelism() > 0 ? this.source.parallelism()
+                : Runtime.getRuntime().availableProcessors();
+
+        Prefetcher prefetcher =
+                new Prefetcher(directory, files, bundle, config, parseInput, parallelism);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(prefetcher, Spliterator.ORDERED),
+                        false)
+                .onClose(prefetcher::cancel).map(Arguments::of);
+    }
+
+    private static Path path(URL resource, String message) throws URISyntaxException {
+        // The test files are read as files so resources packaged in a jar are not supported
+        if (!"file".equals(resource.getProtocol())) {
+            throw new JsonParamError(message);
+        }
+
+        return Path.of(resource.toURI());
+    }
+
+    private static String name(Path directory, Path file) {
+        return directory.relativize(file).toString().replace('\\', '/');
+    }
+
+    private static JsonParamUnitConfig config(Class<?> testClass, String name) {
+        for (Class<?> type = testClass; type != null; type = type.getSuperclass()) {
+            Method method;
+            try {
+                method = type.getDeclaredMethod(name);
+            } catch (NoSuchMethodException e) {
+                continue;
+            }
+
+            if (!Modifier.isStatic(method.getModifiers())
+                    || method.getReturnType() != JsonParamUnitConfig.class) {
+                throw new JsonParamError(
+                        "The provided config method must be static and return a config.");
+            }
+
+            JsonParamUnitConfig config;
+            try {
+                method.setAccessible(true);
+                config = (JsonParamUnitConfig) method.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new JsonParamError("The provided config method failed.", e);
+            }
+
+            if (config == null) {
+                throw new JsonParamError("The provided config method returned null.");
+            }
+
+            return config;
+        }
+
+        throw new JsonParamError("The provided config method does not exist.");
+    }
+
+    /**
+     * Parses the test files on the shared pool of threads keeping a bounded number of test files
+     * ahead of the test case being run while returning the test cases in order.
+     */
+    private static final class Prefetcher implements Iterator<JsonParamCase> {
+
+        private final Path directory;
+
+        private final Iterator<Path> files;
+
+        private final JsonParamBundle bundle;
+
+        private final JsonParamUnitConfig config;
+
+        private final boolean resolved;
+
+        private final boolean parseInput;
+
+        private final int window;
+
+        private final Deque<ForkJoinTask<List<JsonParamCase>>> pending = new ArrayDeque<>();
+
+        private Iterator<JsonParamCase> current = Collections.emptyIterator();
+
+        private Prefetcher(Path directory, List<Path> files, JsonParamBundle bundle,
+                JsonParamUnitConfig config, boolean parseInput, int parallelism) {
+            this.directory = directory;
+            this.files = files.iterator();
+            this.bundle = bundle;
+            this.config = config == null ? JsonParamUnitConfig.defaults() : config;
+            this.resolved = config != null;
+            this.parseInput = parseInput;
+            this.window = parallelism;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.current.hasNext()) {
+                // Keep the pool busy parsing the test files that come next
+                while (this.pending.size() < this.window && this.files.hasNext()) {
+                    Path file = this.files.next();
+                    this.pending.add(POOL.submit(() -> parse(file)));
+                }
+
+                if (this.pending.isEmpty()) {
+                    return false;
+                }
+
+                this.current = this.pending.poll().join().iterator();
+            }
+
+            return true;
+        }
+
+        @Override
+        public JsonParamCase next() {
+            return this.current.next();
+        }
+
+        private void cancel() {
+            this.pending.forEach(task -> task.cancel(true));
+            this.pending.clear();
+        }
+
+        private List<JsonParamCase> parse(Path file) {
+            String name = name(this.directory, file);
+
+            List<JsonParamCase> testCases = new ArrayList<>();
+            try {
+                Iterator<JsonParamCase> loaded = JsonCaseLoader.load(file, name,
+                        this.bundle == null ? this.config.getBundle() : this.bundle, this.config);
+                loaded.forEachRemaining(testCases::add);
+            } catch (JsonParamError e) {
+                // Reported when the test case is run
+                testCases.clear();
+                testCases.add(JsonParamCase.failed(name, 0, e));
+            }
+
+            // The input and expected output are parsed ahead of time as well
+            for (int i = 0; i < testCases.size(); i++) {
+                JsonParamCase testCase = testCases.get(i);
+                if (testCase.getOutput() != null) {
+                    if (this.parseInput) {
+                        testCase.getInput().load();
+                    }
+
+                    testCase.getOutput().load();
+                }
+
+                if (!this.resolved) {
+                    testCases.set(i, testCase.parsedWith(this.config));
+                }
+            }
+
+            return testCases;
+        }
+    }
+}
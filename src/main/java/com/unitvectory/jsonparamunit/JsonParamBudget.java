@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.management.ThreadMXBean;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The performance budget of a test case declared by the optional "performance" JSON Object of the
+ * test file.
+ *
+ * Once the output of the test case has been verified process is called repeatedly, first for the
+ * warmup iterations that are not measured and then for the measured iterations, with the duration
+ * of each measured call recorded in a histogram. The test case fails if the 50th or 99th
+ * percentile exceeds its limit; a limit that is not declared is not checked.
+ *
+ * The bytes allocated by process are measured separately over the same number of iterations using
+ * the allocation counter of the current thread, as reading it does not allocate, and the test case
+ * fails if any of the calls allocates more than its limit.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Getter(AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+final class JsonParamBudget {
+
+    /**
+     * The default number of warmup iterations.
+     */
+    static final int DEFAULT_WARMUP_ITERATIONS = 10;
+
+    /**
+     * The default number of measured iterations.
+     */
+    static final int DEFAULT_ITERATIONS = 100;
+
+    private static final LongSupplier ALLOCATION_METER =
+            allocationMeter(ManagementFactory.getThreadMXBean());
+
+    /**
+     * The number of calls to process before measuring.
+     */
+    private final int warmupIterations;
+
+    /**
+     * The number of measured calls to process.
+     */
+    private final int iterations;
+
+    /**
+     * The maximum 50th percentile in nanoseconds; negative if there is no limit.
+     */
+    private final long maxP50Nanos;
+
+    /**
+     * The maximum 99th percentile in nanoseconds; negative if there is no limit.
+     */
+    private final long maxP99Nanos;
+
+    /**
+     * The maximum bytes allocated by a single call; negative if there is no limit.
+     */
+    private final long maxAllocatedBytes;
+
+    /**
+     * Parses the "performance" JSON Object of a test file.
+     *
+     * @param node the JSON Object
+     * @return the budget
+     * @throws JsonParamError if the JSON Object is not a valid budget
+     */
+    static JsonParamBudget parse(JsonNode node) {
+        if (!node.isObject()) {
+            throw new JsonParamError("The 'performance' field must be a JSON Object.");
+        }
+
+        int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+        int iterations = DEFAULT_ITERATIONS;
+        long maxP50Nanos = -1;
+        long maxP99Nanos = -1;
+        long maxAllocatedBytes = -1;
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            if ("warmupIterations".equals(name)) {
+                warmupIterations = (int) parseInteger(name, value, 0, Integer.MAX_VALUE);
+            } else if ("iterations".equals(name)) {
+                iterations = (int) parseInteger(name, value, 1, Integer.MAX_VALUE);
+            } else if ("maxP50Micros".equals(name)) {
+                maxP50Nanos = parseMicros(name, value);
+            } else if ("maxP99Micros".equals(name)) {
+                maxP99Nanos = parseMicros(name, value);
+            } else if ("maxAllocatedBytes".equals(name)) {
+                maxAllocatedBytes = parseInteger(name, value, 0, Long.MAX_VALUE);
+            } else {
+                throw new JsonParamError(
+                        "The 'performance' JSON Object contains the unknown field '" + name + "'.");
+            }
+        }
+
+        return new JsonParamBudget(warmupIterations, iterations, maxP50Nanos, maxP99Nanos,
+                maxAllocatedBytes);
+    }
+
+    private static long parseInteger(String name, JsonNode value, long min, long max) {
+        if (!value.isIntegralNumber() || !value.canConvertToLong() || value.longValue() < min
+                || value.longValue() > max) {
+            throw new JsonParamError("The 'performance' field '" + name
+                    + "' must be an integer of at least " + min + ".");
+        }
+
+        return value.longValue();
+    }
+
+    /**
+     * Gets the meter of the bytes allocated by the current thread.
+     *
+     * @param bean the ThreadMXBean of the JVM
+     * @return the meter; null if the JVM does not support measuring the bytes allocated
+     */
+    static LongSupplier allocationMeter(java.lang.management.ThreadMXBean bean) {
+        if (bean instanceof ThreadMXBean) {
+            ThreadMXBean threads = (ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()
+                    && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads::getCurrentThreadAllocatedBytes;
+            }
+        }
+
+        return null;
+    }
+
+    private static long parseMicros(String name, JsonNode value) {
+        if (!value.isNumber() || value.doubleValue() < 0) {
+            throw new JsonParamError("The 'performance' field '" + name
+                    + "' must be a number of at least 0.");
+        }
+
+        return Math.round(value.doubleValue() * 1000);
+    }
+
+    /**
+     * Measures the calls to process and asserts they are within the budget.
+     *
+     * @param measurement a single measured call to process
+     * @throws JsonParamError if the budget is exceeded
+     */
+    void assertWithin(Measurement measurement) {
+        assertWithin(measurement, ALLOCATION_METER);
+    }
+
+    /**
+     * Measures the calls to process and asserts they are within the budget.
+     *
+     * @param measurement a single measured call to process
+     * @param allocationMeter the meter of the bytes allocated; null if not supported
+     * @throws JsonParamError if the budget is exceeded
+     */
+    void assertWithin(Measurement measurement, LongSupplier allocationMeter) {
+        if (this.maxAllocatedBytes >= 0 && allocationMeter == null) {
+            throw new JsonParamError(
+                    "The JVM does not support measuring the bytes allocated by a thread.");
+        }
+
+        LongSupplier clock = System::nanoTime;
+        for (int i = 0; i < this.warmupIterations; i++) {
+            measurement.measure(clock);
+        }
+
+        List<String> failures = new ArrayList<>();
+        if (this.maxP50Nanos >= 0 || this.maxP99Nanos >= 0) {
+            JsonParamHistogram histogram = new JsonParamHistogram();
+            for (int i = 0; i < this.iterations; i++) {
+                histogram.record(measurement.measure(clock));
+            }
+
+            long p50 = histogram.getValueAtPercentile(50);
+            long p99 = histogram.getValueAtPercentile(99);
+            if (exceeds(p50, this.maxP50Nanos) || exceeds(p99, this.maxP99Nanos)) {
+                failures.add("The test case exceeded its latency budget over " + this.iterations
+                        + " iterations.\np50: " + describe(p50, this.maxP50Nanos) + "\np99: "
+                        + describe(p99, this.maxP99Nanos));
+            }
+        }
+
+        if (this.maxAllocatedBytes >= 0) {
+            long allocated = 0;
+            for (int i = 0; i < this.iterations; i++) {
+                allocated = Math.max(allocated, measurement.measure(allocationMeter));
+            }
+
+            if (allocated > this.maxAllocatedBytes) {
+                failures.add("The test case exceeded its allocation budget over " + this.iterations
+                        + " iterations.\nallocated: " + allocated + " bytes (max "
+                        + this.maxAllocatedBytes + " bytes)");
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new JsonParamError(String.join("\n", failures));
+        }
+    }
+
+    private static boolean exceeds(long value, long max) {
+        return max >= 0 && value > max;
+    }
+
+    private static String describe(long nanos, long max) {
+        return micros(nanos) + (max < 0 ? " (no limit)" : " (max " + micros(max) + ")");
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3fus", nanos / 1000.0);
+    }
+
+    /**
+     * A single call to process, with its input prepared before and its output discarded after the
+     * call is measured.
+     */
+    @FunctionalInterface
+    interface Measurement {
+
+        /**
+         * Calls process once.
+         *
+         * @param meter the meter read immediately before and after the call
+         * @return the difference of the meter across the call
+         */
+        long measure(LongSupplier meter);
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * A precompiled bundle of the test files in a directory that test cases are loaded from by random
+ * access instead of reading and parsing each test file.
+ *
+ * Each test file is stored encoded as CBOR, which is read without decoding any text, and an index
+ * holds the offset of each test file within the bundle addressed by its path relative to the
+ * directory so the test cases keep the names of the original test files. The index is per test
+ * file rather than per test case, as the test cases of a test file are always loaded together. A
+ * test file that is not valid JSON is stored as it is so it fails exactly as the test file would,
+ * as is a test file holding a decimal number that a double does not represent exactly, such as
+ * {@code 1.50}, so a mapper reading decimals as BigDecimal sees the number as it was written.
+ *
+ * A bundle is opened against the directory it was written from; a test file is loaded from the
+ * bundle only if its path relative to that directory is exactly the name of a test file in the
+ * bundle and its size and last modified time are those recorded when the bundle was written, so a
+ * test file changed since is read from the file instead.
+ *
+ * Bundles are normally written at build time by the jsonparamunit-maven-plugin. The bundle is
+ * memory mapped once opened, is immutable and may be shared by test cases running concurrently.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public final class JsonParamBundle {
+
+    private static final int MAGIC = 0x4A505542;
+
+    private static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = 12;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final CBORMapper CBOR_MAPPER = new CBORMapper();
+
+    private final Map<String, Entry> entries;
+
+    private final ByteBuffer data;
+
+    private final Path root;
+
+    private JsonParamBundle(Map<String, Entry> entries, ByteBuffer data, Path root) {
+        this.entries = entries;
+        this.data = data;
+        this.root = root;
+    }
+
+    /**
+     * Write a bundle of the test files in a directory.
+     *
+     * @param directory the directory containing the test files
+     * @param fileExtension the file extension of the test files
+     * @param recurse whether test files in subdirectories are included
+     * @param bundle the path the bundle is written to
+     * @return the number of test files in the bundle
+     * @throws IOException if the test files could not be read or the bundle written
+     */
+    public static int write(Path directory, String fileExtension, boolean recurse, Path bundle)
+            throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory, recurse ? Integer.MAX_VALUE : 1)) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(fileExtension)).sorted()
+                    .collect(Collectors.toList());
+        }
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        Map<String, List<Object>> index = new TreeMap<>();
+        for (Path file : files) {
+            String name = directory.relativize(file).toString().replace('\\', '/');
+            BasicFileAttributes attributes =
+                    Files.readAttributes(file, BasicFileAttributes.class);
+            byte[] json = Files.readAllBytes(file);
+            byte[] cbor = encode(json);
+
+            int offset = data.size();
+            data.write(cbor == null ? json : cbor);
+            index.put(name, List.of(offset, data.size() - offset, cbor == null,
+                    attributes.size(), attributes.lastModifiedTime().toMillis()));
+        }
+
+        byte[] indexBytes = CBOR_MAPPER.writeValueAsBytes(index);
+        try (OutputStream stream = Files.newOutputStream(bundle);
+                DataOutputStream out = new DataOutputStream(stream)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(indexBytes.length);
+            out.write(indexBytes);
+            data.writeTo(out);
+        }
+
+        return files.size();
+    }
+
+    /**
+     * Open a bundle reading only its index; the test files are read as they are loaded.
+     *
+     * @param bundle the path to the bundle
+     * @param root the directory the bundle was written from that test files are resolved against
+     * @return the bundle
+     */
+    public static JsonParamBundle open(Path bundle, Path root) {
+        ByteBuffer content;
+        try (FileChannel channel = FileChannel.open(bundle, StandardOpenOption.READ)) {
+            // The mapping remains valid after the channel is closed
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to read the bundle.", e);
+        }
+
+        if (content.remaining() < HEADER_SIZE || content.getInt(0) != MAGIC
+                || content.getInt(4) != VERSION) {
+            throw new JsonParamError("The bundle is not a supported jsonparamunit bundle.");
+        }
+
+        int indexSize = content.getInt(8);
+        Map<String, Entry> entries = new TreeMap<>();
+        try {
+            JsonNode index = JsonFileLoader.readTree(CBOR_MAPPER.reader(),
+                    JsonFileLoader.slice(content, HEADER_SIZE, HEADER_SIZE + indexSize));
+            for (Map.Entry<String, JsonNode> field : index.properties()) {
+                JsonNode value = field.getValue();
+                entries.put(field.getKey(),
+                        new Entry(value.get(0).intValue(), value.get(1).intValue(),
+                                value.get(2).booleanValue(), value.get(3).longValue(),
+                                value.get(4).longValue()));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new JsonParamError("Failed to read the bundle.", e);
+        }
+
+        return new JsonParamBundle(entries,
+                JsonFileLoader.slice(content, HEADER_SIZE + indexSize, content.limit()),
+                root.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Gets the names of the test files in the bundle, relative to the directory they were in.
+     *
+     * @return the sorted names of the test files
+     */
+    public List<String> getNames() {
+        return new ArrayList<>(this.entries.keySet());
+    }
+
+    /**
+     * Check if the bundle contains a test file.
+     *
+     * @param name the name of the test file relative to the directory it was in
+     * @return true if the bundle contains the test file; otherwise false
+     */
+    public boolean contains(String name) {
+        return this.entries.containsKey(name);
+    }
+
+    /**
+     * Find the test file in the bundle for a path relative to the directory the bundle was written
+     * from, provided the test file has not changed since.
+     *
+     * @param path the path to the test file
+     * @param attributes the current attributes of the test file
+     * @return the name of the test file; null if the bundle does not contain it or it has changed
+     */
+    String find(Path path, BasicFileAttributes attributes) {
+        Path absolute = path.toAbsolutePath().normalize();
+        if (!absolute.startsWith(this.root)) {
+            return null;
+        }
+
+        String name = this.root.relativize(absolute).toString().replace('\\', '/');
+        Entry entry = this.entries.get(name);
+        if (entry == null || entry.size != attributes.size()
+                || entry.lastModified != attributes.lastModifiedTime().toMillis()) {
+            return null;
+        }
+
+        return name;
+    }
+
+    /**
+     * Load the test cases of a test file in the bundle.
+     *
+     * @param name the name of the test file relative to the directory it was in
+     * @param caseName the name used to identify the test cases
+     * @param config the config
+     * @return the iterator of test cases
+     */
+    Iterator<JsonParamCase> load(String name, String caseName, JsonParamUnitConfig config) {
+        Entry entry = this.entries.get(name);
+        ByteBuffer content =
+                JsonFileLoader.slice(this.data, entry.offset, entry.offset + entry.length);
+        ObjectReader reader = entry.json ? config.getCodec().getReader()
+                : config.getCodec().getBundleReader();
+
+        try {
+            return JsonEnvelopeReader.read(reader, content, caseName);
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to parse the JSON from the test file.", e);
+        }
+    }
+
+    private static byte[] encode(byte[] json) {
+        ByteArrayOutputStream cbor = new ByteArrayOutputStream();
+        boolean exact = true;
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+                JsonGenerator generator = CBOR_MAPPER.getFactory().createGenerator(cbor)) {
+            // Newline delimited test files hold more than one value
+            while (exact && parser.nextToken() != null) {
+                exact = parser.currentToken() != JsonToken.VALUE_NUMBER_FLOAT || exact(parser);
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            // Stored as JSON so the test cases report the error
+            return null;
+        }
+
+        // Stored as JSON so the decimals are read as they were written
+        return exact ? cbor.toByteArray() : null;
+    }
+
+    private static boolean exact(JsonParser parser) throws IOException {
+        // CBOR stores the number as a double, which must read back as the decimal written
+        double value = parser.getDoubleValue();
+        return Double.isFinite(value)
+                && new BigDecimal(Double.toString(value)).equals(parser.getDecimalValue());
+    }
+
+    /**
+     * The location of a test file within the bundle.
+     */
+    private static final class Entry {
+
+        private final int offset;
+
+        private final int length;
+
+        private final boolean json;
+
+        private final long size;
+
+        private final long lastModified;
+
+        private Entry(int offset, int length, boolean json, long size, long lastModified) {
+            this.offset = offset;
+            this.length = length;
+            this.json = json;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
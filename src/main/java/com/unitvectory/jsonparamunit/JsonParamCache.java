@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.lang.ref.SoftReference;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.Value;
+
+/**
+ * Cache of parsed test files keyed by their path.
+ * 
+ * The parsed test cases are bound to the reader that parsed them, so test files loaded with a
+ * different codec, such as from a configuration with its own mapper or modules, or with different
+ * formats or names are cached as separate entries.
+ * 
+ * Entries are invalidated when the size or last modified time of the file changes. The cache holds
+ * at most the configured number of entries, evicting the least recently used entry, and each entry
+ * is softly referenced so the garbage collector can reclaim them under memory pressure.
+ * 
+ * A single cache can be shared between test classes by setting it on each JsonParamUnitConfig so a
+ * test file that is used by multiple test classes is only read and parsed once. The input provided
+ * to process is always a copy so modifications made to it are not visible to later test cases.
+ * All of the test cases in a test file holding multiple test cases are cached together.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public final class JsonParamCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private static final JsonParamCache SHARED = new JsonParamCache(DEFAULT_MAX_ENTRIES);
+
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new instance of the JsonParamCache.
+     * 
+     * @param maxEntries the maximum number of test files to cache
+     */
+    public JsonParamCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return this.size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the JVM wide shared cache.
+     * 
+     * @return the shared cache
+     */
+    public static JsonParamCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets the number of times a test file was served from the cache.
+     * 
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of times a test file had to be loaded.
+     * 
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of test files currently cached.
+     * 
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Removes all of the cached test files.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * Gets the test cases for the file, loading them if they are not cached or have changed.
+     * 
+     * @param path the path to the test file
+     * @param name the name the test cases are given
+     * @param config the configuration the test cases are loaded with
+     * @param attributes the current attributes of the test file
+     * @param loader the function to load the test cases from the file
+     * @return the iterator of test cases
+     */
+    Iterator<JsonParamCase> get(Path path, String name, JsonParamUnitConfig config,
+            BasicFileAttributes attributes, Function<Path, List<JsonParamCase>> loader) {
+        Key key = new Key(path.toAbsolutePath().normalize(), name, config.getCodec(),
+                config.getFormats());
+
+        Entry entry;
+        synchronized (this.entries) {
+            entry = this.entries.get(key);
+        }
+
+        List<JsonParamCase> testCases = entry == null ? null : entry.get(attributes);
+        if (testCases == null) {
+            this.misses.increment();
+
+            // Loading happens outside of the lock so other files are not blocked
+            testCases = loader.apply(path);
+            Entry loaded = new Entry(attributes, testCases);
+            synchronized (this.entries) {
+                this.entries.put(key, loaded);
+            }
+        } else {
+            this.hits.increment();
+        }
+
+        // The input is copied as process is free to modify it
+        return testCases.stream().map(JsonParamCase::copy).iterator();
+    }
+
+    /**
+     * The identity of a cached test file; codecs are compared by identity.
+     */
+    @Value
+    private static class Key {
+
+        private final Path path;
+
+        private final String name;
+
+        private final JsonCodec codec;
+
+        private final List<JsonParamFormat> formats;
+    }
+
+    /**
+     * The cached test cases along with the file attributes they were loaded from.
+     */
+    private static final class Entry {
+
+        private final long size;
+
+        private final FileTime lastModified;
+
+        private final SoftReference<List<JsonParamCase>> reference;
+
+        private Entry(BasicFileAttributes attributes, List<JsonParamCase> testCases) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+            this.reference = new SoftReference<>(testCases);
+        }
+
+        private List<JsonParamCase> get(BasicFileAttributes attributes) {
+            if (this.size == attributes.size()
+                    && this.lastModified.equals(attributes.lastModifiedTime())) {
+                return this.reference.get();
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.nio.ByteBuffer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A test case parsed from a test file.
+ * 
+ * A test case that could not be read from the test file holds the error describing why instead of
+ * the input and output so the failure is reported when the test case is run.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Getter(AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class JsonParamCase {
+
+    /**
+     * The name identifying the test case; the file name followed by the index of the test case for
+     * files holding multiple test cases.
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * The index of the test case within the test file.
+     */
+    private final int index;
+
+    /**
+     * The input JSON Object, parsed once it is needed.
+     */
+    private final JsonSlice input;
+
+    /**
+     * The optional context; null if not provided.
+     */
+    private final String context;
+
+    /**
+     * The expected output JSON Object, parsed once it is needed.
+     */
+    private final JsonSlice output;
+
+    /**
+     * The optional performance budget; null if not provided.
+     */
+    private final JsonParamBudget budget;
+
+    /**
+     * The bytes of the whole test case as read from the test file; null if not available.
+     */
+    private final ByteBuffer envelope;
+
+    /**
+     * The error if the test case could not be read; null otherwise.
+     */
+    private final JsonParamError error;
+
+    /**
+     * The config the test case was parsed with when the config of the test class running it could
+     * not be resolved; null otherwise.
+     */
+    private final JsonParamUnitConfig config;
+
+    /**
+     * Creates a test case that could not be read from the test file.
+     * 
+     * @param name the name of the test case
+     * @param index the index of the test case
+     * @param error the error describing why it could not be read
+     * @return the test case
+     */
+    static JsonParamCase failed(String name, int index, JsonParamError error) {
+        return new JsonParamCase(name, index, null, null, null, null, null, error, null);
+    }
+
+    /**
+     * Creates a copy of the test case with its own input so it can be modified by process.
+     * 
+     * @return the copy of the test case
+     */
+    JsonParamCase copy() {
+        if (this.error != null) {
+            return this;
+        }
+
+        return new JsonParamCase(this.name, this.index, this.input.copy(), this.context,
+                this.output, this.budget, this.envelope, null, this.config);
+    }
+
+    /**
+     * Creates a copy of the test case recording the config it was parsed with as the config of
+     * the test class running it could not be resolved.
+     * 
+     * @param parsedWith the config the test case was parsed with
+     * @return the copy of the test case
+     */
+    JsonParamCase parsedWith(JsonParamUnitConfig parsedWith) {
+        return new JsonParamCase(this.name, this.index, this.input, this.context, this.output,
+                this.budget, this.envelope, this.error, parsedWith);
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * A format test files may be written in other than JSON text, read with its own Jackson
+ * JsonFactory.
+ * 
+ * The format of a test file is selected by the extension of its file name, or failing that by the
+ * magic bytes it starts with, checking the formats added to the config before the built in CBOR
+ * format; test files matching no format are read as JSON text. Test files in every format hold the
+ * same "input", "context" and "output" envelope and fail with the same errors.
+ * 
+ * The input and output of a sliced format are recorded as slices of the test file that are parsed
+ * once they are needed, which requires that any value can be read on its own from its bytes as it
+ * is with CBOR. Formats that refer back to earlier parts of the document, such as Smile with shared
+ * names, or whose values depend on their position, such as YAML, are not sliced and have their
+ * input and output parsed as the test file is read.
+ *
+ * <pre>
+ * JsonParamUnitConfig.builder()
+ *         .format(JsonParamFormat.builder().name("YAML").factory(new YAMLFactory())
+ *                 .extension(".yaml").extension(".yml").build())
+ *         .build();
+ * </pre>
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Value
+@Builder
+public class JsonParamFormat {
+
+    /**
+     * The CBOR format, selected by the ".cbor" extension or the CBOR self-describe tag.
+     */
+    public static final JsonParamFormat CBOR = JsonParamFormat.builder().name("CBOR")
+            .factory(new CBORFactory()).extension(".cbor")
+            .magic(new byte[] {(byte) 0xD9, (byte) 0xD9, (byte) 0xF7}).sliced(true).build();
+
+    private final String name;
+
+    private final JsonFactory factory;
+
+    @Singular
+    private final List<String> extensions;
+
+    @Getter(AccessLevel.NONE)
+    private final byte[] magic;
+
+    @Builder.Default
+    private final boolean sliced = false;
+
+    /**
+     * Gets the magic bytes a test file in this format starts with.
+     * 
+     * @return a copy of the magic bytes; null if the format is only selected by extension
+     */
+    public byte[] getMagic() {
+        return this.magic == null ? null : this.magic.clone();
+    }
+
+    /**
+     * Selects the format of a test file.
+     * 
+     * @param formats the formats added to the config, checked before the built in formats
+     * @param fileName the file name of the test file
+     * @param content the contents of the test file
+     * @return the format; null for JSON text
+     */
+    static JsonParamFormat detect(List<JsonParamFormat> formats, String fileName,
+            ByteBuffer content) {
+        for (JsonParamFormat format : formats) {
+            if (format.hasExtension(fileName)) {
+                return format;
+            }
+        }
+
+        if (CBOR.hasExtension(fileName)) {
+            return CBOR;
+        }
+
+        for (JsonParamFormat format : formats) {
+            if (format.hasMagic(content)) {
+                return format;
+            }
+        }
+
+        return CBOR.hasMagic(content) ? CBOR : null;
+    }
+
+    private boolean hasExtension(String fileName) {
+        for (String extension : this.extensions) {
+            if (fileName.endsWith(extension)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean hasMagic(ByteBuffer content) {
+        if (this.magic == null || content.remaining() < this.magic.length) {
+            return false;
+        }
+
+        for (int i = 0; i < this.magic.length; i++) {
+            if (content.get(content.position() + i) != this.magic[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Builder for the JsonParamFormat; the magic bytes are copied so the format cannot be changed
+     * once it is built.
+     */
+    public static class JsonParamFormatBuilder {
+
+        /**
+         * Sets the magic bytes a test file in this format starts with.
+         * 
+         * @param magic the magic bytes
+         * @return the builder
+         */
+        public JsonParamFormatBuilder magic(byte[] magic) {
+            this.magic = magic == null ? null : magic.clone();
+            return this;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+/**
+ * A histogram of durations in nanoseconds using the log-linear buckets of an HDR histogram, so the
+ * percentiles are accurate to within 1/64 of the recorded value however widely the values range
+ * while the memory used stays fixed.
+ *
+ * Values below 128 are counted exactly; larger values are counted in one of 64 equally sized
+ * buckets between each power of two.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+final class JsonParamHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+
+    private final long[] counts =
+            new long[SUB_BUCKET_COUNT + (64 - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT];
+
+    private long total;
+
+    private long max;
+
+    /**
+     * Records a value.
+     *
+     * @param value the value; negative values are recorded as 0
+     */
+    void record(long value) {
+        long recorded = Math.max(0, value);
+        this.counts[index(recorded)]++;
+        this.total++;
+        this.max = Math.max(this.max, recorded);
+    }
+
+    /**
+     * Adds the values recorded by another histogram.
+     *
+     * @param other the other histogram
+     */
+    void add(JsonParamHistogram other) {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] += other.counts[i];
+        }
+
+        this.total += other.total;
+        this.max = Math.max(this.max, other.max);
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return the number of values
+     */
+    long getTotalCount() {
+        return this.total;
+    }
+
+    /**
+     * Gets the largest value recorded.
+     *
+     * @return the largest value; 0 if no values were recorded
+     */
+    long getMaxValue() {
+        return this.max;
+    }
+
+    /**
+     * Gets the value at a percentile, the highest value equivalent to the recorded value.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the value; 0 if no values were recorded
+     */
+    long getValueAtPercentile(double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.total));
+        long count = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            count += this.counts[i];
+            if (count >= rank) {
+                return Math.min(highestEquivalentValue(i), this.max);
+            }
+        }
+
+        return 0;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        // The top bits of the value select the sub bucket within its power of two
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT
+                + (subBucket - HALF_SUB_BUCKET_COUNT);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+/**
+ * Receives the time taken by each phase of running a test case.
+ *
+ * Listeners are registered on the {@link JsonParamUnitConfig} and are called on the thread running
+ * the test case as each phase completes, so a listener shared by test cases running concurrently
+ * must be thread safe. A phase may be reported more than once for a test case, such as parsing both
+ * the input and the expected output. No time is measured when no listener is registered.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@FunctionalInterface
+public interface JsonParamListener {
+
+    /**
+     * Called when a phase of running a test case completes.
+     *
+     * @param testCase the name of the test case
+     * @param phase the phase
+     * @param nanos the time taken by the phase in nanoseconds
+     */
+    void phaseCompleted(String testCase, JsonParamPhase phase, long nanos);
+}
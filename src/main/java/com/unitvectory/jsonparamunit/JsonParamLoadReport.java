@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.util.Locale;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The report of a load run by the {@link JsonParamLoadRunner}.
+ * 
+ * The latency percentiles are of the process method alone, recorded in an HDR style histogram, and
+ * an iteration whose output did not match or whose process method threw is counted as an error.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class JsonParamLoadReport {
+
+    /**
+     * The number of test cases run.
+     */
+    private final long iterations;
+
+    /**
+     * The number of test cases that failed.
+     */
+    private final long errors;
+
+    /**
+     * The time the load ran for in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * The 50th percentile of process in nanoseconds.
+     */
+    private final long p50Nanos;
+
+    /**
+     * The 90th percentile of process in nanoseconds.
+     */
+    private final long p90Nanos;
+
+    /**
+     * The 99th percentile of process in nanoseconds.
+     */
+    private final long p99Nanos;
+
+    /**
+     * The longest process in nanoseconds.
+     */
+    private final long maxNanos;
+
+    /**
+     * The first failure; null if no test case failed.
+     */
+    private final Throwable firstError;
+
+    /**
+     * Gets the number of test cases run per second.
+     * 
+     * @return the throughput
+     */
+    public double getThroughput() {
+        return this.iterations * 1_000_000_000.0 / Math.max(1, this.elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%d iterations in %.3fs (%.1f/s), %d errors, "
+                        + "p50 %.3fus, p90 %.3fus, p99 %.3fus, max %.3fus",
+                this.iterations, this.elapsedNanos / 1_000_000_000.0, getThroughput(), this.errors,
+                this.p50Nanos / 1000.0, this.p90Nanos / 1000.0, this.p99Nanos / 1000.0,
+                this.maxNanos / 1000.0);
+    }
+}
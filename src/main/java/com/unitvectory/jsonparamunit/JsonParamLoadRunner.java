@@ -0,0 +1,248 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Builder;
+
+/**
+ * Replays every test case of a corpus of test files against the process method of a test class
+ * from multiple threads to find contention and throughput cliffs in the code under test.
+ * 
+ * The test files are read and parsed once before the load starts; each call then runs a copy of a
+ * test case, taken in turn from the corpus, and asserts its output exactly as a test would while
+ * recording how long process took. The load runs for either a fixed duration or a fixed total
+ * number of iterations shared by the threads.
+ * 
+ * <pre>
+ * JsonParamLoadReport report = JsonParamLoadRunner.builder().unit(new ReverseStringTest())
+ *         .directory(Path.of("src/test/resources/strings")).threads(8)
+ *         .duration(Duration.ofSeconds(30)).build().run();
+ * </pre>
+ * 
+ * The threads are created by the threadFactory, so on Java 21 and later virtual threads are used
+ * by providing {@code Thread.ofVirtual().factory()}.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Builder
+public final class JsonParamLoadRunner {
+
+    /**
+     * The test class whose process method is run.
+     */
+    private final JsonNodeParamUnit unit;
+
+    /**
+     * The directory containing the test files.
+     */
+    private final Path directory;
+
+    /**
+     * The file extension of the test files.
+     */
+    @Builder.Default
+    private final String fileExtension = ".json";
+
+    /**
+     * Whether test files in subdirectories are included.
+     */
+    @Builder.Default
+    private final boolean recurse = true;
+
+    /**
+     * The number of threads running the test cases concurrently.
+     */
+    @Builder.Default
+    private final int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The factory creating the threads.
+     */
+    @Builder.Default
+    private final ThreadFactory threadFactory = Executors.defaultThreadFactory();
+
+    /**
+     * The duration to run for; null to run a fixed number of iterations.
+     */
+    private final Duration duration;
+
+    /**
+     * The total number of test cases to run; 0 to run for a fixed duration.
+     */
+    private final long iterations;
+
+    /**
+     * Runs the load, returning once every thread has finished.
+     * 
+     * @return the report of the load
+     */
+    public JsonParamLoadReport run() {
+        if (this.unit == null) {
+            throw new JsonParamError("The provided unit is null.");
+        } else if (this.directory == null) {
+            throw new JsonParamError("The provided directory is null.");
+        } else if (this.threads < 1) {
+            throw new JsonParamError("The number of threads must be at least 1.");
+        } else if ((this.duration == null) == (this.iterations <= 0)) {
+            throw new JsonParamError(
+                    "Exactly one of a duration or a number of iterations must be provided.");
+        }
+
+        List<JsonParamCase> testCases = load();
+
+        // Once every thread is ready the load starts for all of them together and the main thread
+        // waits for them to finish
+        Phaser phaser = new Phaser(this.threads + 1);
+        AtomicLong next = new AtomicLong();
+        AtomicLong deadline = new AtomicLong();
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < this.threads; i++) {
+            Worker worker = new Worker(testCases, next, deadline, phaser);
+            workers.add(worker);
+            this.threadFactory.newThread(worker).start();
+        }
+
+        phaser.arriveAndAwaitAdvance();
+        long start = System.nanoTime();
+        deadline.set(start + (this.duration == null ? 0 : this.duration.toNanos()));
+        phaser.arriveAndAwaitAdvance();
+        phaser.arriveAndAwaitAdvance();
+        long elapsed = System.nanoTime() - start;
+
+        JsonParamHistogram histogram = new JsonParamHistogram();
+        long completed = 0;
+        long errors = 0;
+        Throwable firstError = null;
+        for (Worker worker : workers) {
+            histogram.add(worker.histogram);
+            completed += worker.completed;
+            errors += worker.errors;
+            if (firstError == null) {
+                firstError = worker.firstError;
+            }
+        }
+
+        return new JsonParamLoadReport(completed, errors, elapsed,
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getMaxValue(), firstError);
+    }
+
+    private List<JsonParamCase> load() {
+        List<Path> files;
+        try (Stream<Path> paths =
+                Files.walk(this.directory, this.recurse ? Integer.MAX_VALUE : 1)) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(this.fileExtension)).sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to read the corpus directory.", e);
+        }
+
+        List<JsonParamCase> testCases = new ArrayList<>();
+        for (Path file : files) {
+            String name = this.directory.relativize(file).toString().replace('\\', '/');
+            JsonCaseLoader.load(file, name, this.unit.getConfig()).forEachRemaining(testCase -> {
+                if (testCase.getError() != null) {
+                    throw testCase.getError();
+                }
+
+                // Parsed now so only the copy of the input is made as each test case is run
+                testCases.add(new JsonParamCase(testCase.getName(), testCase.getIndex(),
+                        new JsonSlice(testCase.getInput().getNode()), testCase.getContext(),
+                        new JsonSlice(testCase.getOutput().getNode()), null, null, null, null));
+            });
+        }
+
+        if (testCases.isEmpty()) {
+            throw new JsonParamError("The corpus does not contain any test cases.");
+        }
+
+        return testCases;
+    }
+
+    /**
+     * Runs the test cases on one thread recording how long process took for each.
+     */
+    private final class Worker implements Runnable {
+
+        private final List<JsonParamCase> testCases;
+
+        private final AtomicLong next;
+
+        private final AtomicLong deadline;
+
+        private final Phaser phaser;
+
+        private final JsonParamHistogram histogram = new JsonParamHistogram();
+
+        private long completed;
+
+        private long errors;
+
+        private Throwable firstError;
+
+        private Worker(List<JsonParamCase> testCases, AtomicLong next, AtomicLong deadline,
+                Phaser phaser) {
+            this.testCases = testCases;
+            this.next = next;
+            this.deadline = deadline;
+            this.phaser = phaser;
+        }
+
+        @Override
+        public void run() {
+            JsonParamTimer timer = new JsonParamTimer(List.of((testCase, phase, nanos) -> {
+                if (phase == JsonParamPhase.PROCESS) {
+                    this.histogram.record(nanos);
+                }
+            }));
+
+            // Ready, then started once the deadline has been set
+            this.phaser.arriveAndAwaitAdvance();
+            this.phaser.arriveAndAwaitAdvance();
+            try {
+                long end = this.deadline.get();
+                while (true) {
+                    long index = this.next.getAndIncrement();
+                    if (duration == null ? index >= iterations
+                            : System.nanoTime() - end >= 0) {
+                        return;
+                    }
+
+                    JsonParamCase testCase =
+                            this.testCases.get((int) (index % this.testCases.size())).copy();
+                    timer.start(testCase.getName());
+                    this.completed++;
+                    try {
+                        unit.runCase(testCase, timer);
+                    } catch (RuntimeException | AssertionError e) {
+                        this.errors++;
+                        if (this.firstError == null) {
+                            this.firstError = e;
+                        }
+                    }
+                }
+            } finally {
+                this.phaser.arrive();
+            }
+        }
+    }
+}
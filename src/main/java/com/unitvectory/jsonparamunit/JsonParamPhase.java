@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+/**
+ * The phases of running a test case that are timed and reported to a {@link JsonParamListener}.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public enum JsonParamPhase {
+
+    /**
+     * Reading the test file and parsing the envelope of the test case; not reported for test cases
+     * loaded ahead of time such as those provided by {@link JsonParamSource}.
+     */
+    LOAD,
+
+    /**
+     * Parsing the input or the expected output of the test case, or binding the input to a Java
+     * Class.
+     */
+    PARSE,
+
+    /**
+     * Running process, including reading and writing the streams of a JsonStreamParamUnit.
+     */
+    PROCESS,
+
+    /**
+     * Converting between JsonNode trees, Strings of JSON and Java objects.
+     */
+    CONVERT,
+
+    /**
+     * Asserting the actual output matches the expected output, including reading the actual output
+     * when it is compared as it is read.
+     */
+    ASSERT;
+}
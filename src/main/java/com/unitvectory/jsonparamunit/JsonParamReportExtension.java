@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Publishes the time taken by each phase of the test cases run by a test as JUnit report entries.
+ *
+ * The extension is both registered with JUnit and registered as a listener on the config so it
+ * sees the phases of the test cases run on the thread of each test:
+ *
+ * <pre>
+ * &#64;RegisterExtension
+ * static final JsonParamReportExtension REPORT = new JsonParamReportExtension();
+ *
+ * MyTest() {
+ *     super(JsonParamUnitConfig.builder().listener(REPORT).build());
+ * }
+ * </pre>
+ *
+ * The total nanoseconds of each phase are published under keys such as
+ * {@code jsonparamunit.parse.nanos} once the test finishes.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamReportExtension
+        implements JsonParamListener, BeforeEachCallback, AfterEachCallback {
+
+    private final ThreadLocal<Map<JsonParamPhase, Long>> timings = new ThreadLocal<>();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        this.timings.set(new EnumMap<>(JsonParamPhase.class));
+    }
+
+    @Override
+    public void phaseCompleted(String testCase, JsonParamPhase phase, long nanos) {
+        Map<JsonParamPhase, Long> totals = this.timings.get();
+        if (totals != null) {
+            totals.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Map<JsonParamPhase, Long> totals = this.timings.get();
+        this.timings.remove();
+        if (totals == null || totals.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        totals.forEach((phase, nanos) -> entries.put(
+                "jsonparamunit." + phase.name().toLowerCase(Locale.ROOT) + ".nanos",
+                Long.toString(nanos)));
+        context.publishReportEntry(entries);
+    }
+}
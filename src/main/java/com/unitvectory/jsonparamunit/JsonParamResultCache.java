@@ -0,0 +1,308 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Persistent record of the test cases that passed so unchanged test cases can be skipped by later
+ * runs.
+ * 
+ * Each test case is identified by a SHA-256 hash of the bytes of its envelope in the test file
+ * together with a fingerprint of the test class, covering the class files of the test class and
+ * its superclasses, and of every file in the configured classpath entries such as
+ * {@code target/classes}, and the settings of the config that decide whether it passes such as
+ * strictOutput and the comparison mode. A test case whose hash was recorded as passing is skipped;
+ * changing the test case, the test class, any of the classpath entries or the config changes the
+ * hash so it runs again.
+ * 
+ * The hashes are appended to a file, {@code target/jsonparamunit-results.txt} by default, as the
+ * test cases pass, each following the name and fingerprint of its test class. Setting the
+ * {@code jsonparamunit.fullRun} system property, or creating the cache with fullRun, discards the
+ * recorded results so every test case runs. Skipped test cases are reported to JUnit as aborted.
+ * 
+ * Registered as an extension, the file is compacted after each test class by {@link #save()},
+ * dropping the duplicate results and those recorded for an earlier fingerprint of a test class
+ * that has run since. The file is locked while it is written so forks of the test JVM can share
+ * it; compacting keeps the results the other forks recorded.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public final class JsonParamResultCache implements AfterAllCallback {
+
+    /**
+     * The system property that forces every test case to run.
+     */
+    public static final String FULL_RUN_PROPERTY = "jsonparamunit.fullRun";
+
+    private static final Path DEFAULT_FILE = Path.of("target", "jsonparamunit-results.txt");
+
+    // A JVM may not hold overlapping locks on a file so the caches in a JVM take turns
+    private static final Object LOCK = new Object();
+
+    private final Path file;
+
+    private final List<Path> classpath;
+
+    private final Map<String, String> passed = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, byte[]> fingerprints = new ConcurrentHashMap<>();
+
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * Creates a new instance of the JsonParamResultCache reading the results already recorded.
+     * 
+     * @param file the file the results are recorded in
+     * @param classpath the classpath entries, files or directories, included in the fingerprint
+     * @param fullRun true to discard the recorded results so every test case runs
+     */
+    public JsonParamResultCache(Path file, List<Path> classpath, boolean fullRun) {
+        this.file = file.toAbsolutePath();
+        this.classpath = List.copyOf(classpath);
+
+        try {
+            if (fullRun) {
+                Files.deleteIfExists(this.file);
+            } else if (Files.exists(this.file)) {
+                read(Files.readString(this.file, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to read the result cache.", e);
+        }
+    }
+
+    /**
+     * Opens the result cache in the default file under {@code target/}; every test case runs when
+     * the {@code jsonparamunit.fullRun} system property is set to true.
+     * 
+     * @param classpath the classpath entries, files or directories, included in the fingerprint
+     * @return the result cache
+     */
+    public static JsonParamResultCache open(Path... classpath) {
+        return new JsonParamResultCache(DEFAULT_FILE, List.of(classpath),
+                Boolean.getBoolean(FULL_RUN_PROPERTY));
+    }
+
+    /**
+     * Gets the number of test cases skipped as they passed in a previous run.
+     * 
+     * @return the skip count
+     */
+    public long getSkipCount() {
+        return this.skipped.sum();
+    }
+
+    /**
+     * Gets the hash identifying a test case run by a test class.
+     * 
+     * @param type the test class
+     * @param config the config the test case is run with
+     * @param envelope the bytes of the test case
+     * @return the hash, or null if the class file of the test class cannot be read
+     */
+    String key(Class<?> type, JsonParamUnitConfig config, ByteBuffer envelope) {
+        try {
+            // Computing the fingerprint twice when racing is harmless as it is the same
+            byte[] fingerprint = this.fingerprints.get(type);
+            if (fingerprint == null) {
+                fingerprint = fingerprint(type);
+                if (fingerprint == null) {
+                    return null;
+                }
+
+                this.fingerprints.put(type, fingerprint);
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(fingerprint);
+            digest.update(config.getIdentity().getBytes(StandardCharsets.UTF_8));
+            digest.update(envelope.duplicate());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | GeneralSecurityException e) {
+            throw new JsonParamError("Failed to fingerprint the test class and classpath.", e);
+        }
+    }
+
+    /**
+     * Checks if a test case passed in a previous run, counting it as skipped if it did.
+     * 
+     * @param key the hash identifying the test case
+     * @return true if the test case can be skipped
+     */
+    boolean hasPassed(String key) {
+        if (this.passed.containsKey(key)) {
+            this.skipped.increment();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Records that a test case passed.
+     * 
+     * @param type the test class the hash was computed for
+     * @param key the hash identifying the test case
+     */
+    void recordPassed(Class<?> type, String key) {
+        String owner = owner(type);
+        if (this.passed.putIfAbsent(key, owner) != null) {
+            return;
+        }
+
+        write(channel -> writeLines(channel, List.of(owner + " " + key), channel.size()));
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        save();
+    }
+
+    /**
+     * Rewrites the file with one line for each recorded result, dropping those recorded for an
+     * earlier fingerprint of a test class that has run since. The results recorded in the file by
+     * other JVMs since it was read are kept.
+     */
+    public void save() {
+        write(channel -> {
+            // Does not close the channel, which is closed once the file is written
+            read(new String(Channels.newInputStream(channel).readAllBytes(),
+                    StandardCharsets.UTF_8));
+
+            Map<String, String> current = new HashMap<>();
+            this.fingerprints.keySet().forEach(type -> current.put(type.getName(), owner(type)));
+
+            List<String> lines = new ArrayList<>();
+            this.passed.forEach((key, owner) -> {
+                String name = owner.substring(0, owner.indexOf(' '));
+                if (current.getOrDefault(name, owner).equals(owner)) {
+                    lines.add(owner + " " + key);
+                }
+            });
+
+            lines.sort(null);
+            channel.truncate(0);
+            writeLines(channel, lines, 0);
+        });
+    }
+
+    private void read(String text) {
+        text.lines().forEach(line -> {
+            // The name and fingerprint of the test class followed by the hash
+            String[] parts = line.split(" ");
+            if (parts.length == 3) {
+                this.passed.putIfAbsent(parts[2], parts[0] + " " + parts[1]);
+            }
+        });
+    }
+
+    private String owner(Class<?> type) {
+        return type.getName() + " " + HexFormat.of().formatHex(this.fingerprints.get(type));
+    }
+
+    private void write(FileWrite action) {
+        synchronized (LOCK) {
+            try {
+                Files.createDirectories(this.file.getParent());
+                try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    // Released as the channel is closed
+                    channel.lock();
+                    action.write(channel);
+                }
+            } catch (IOException e) {
+                throw new JsonParamError("Failed to write the result cache.", e);
+            }
+        }
+    }
+
+    private static void writeLines(FileChannel channel, List<String> lines, long position)
+            throws IOException {
+        StringBuilder text = new StringBuilder();
+        lines.forEach(line -> text.append(line).append(System.lineSeparator()));
+        ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private byte[] fingerprint(Class<?> type) throws IOException, GeneralSecurityException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        // Writes only to the digest so there is nothing to close
+        OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest);
+        for (Path entry : this.classpath) {
+            List<Path> files;
+            try (Stream<Path> paths = Files.walk(entry)) {
+                files = paths.filter(Files::isRegularFile).sorted()
+                        .collect(Collectors.toList());
+            }
+
+            for (Path path : files) {
+                out.write(entry.relativize(path).toString().getBytes(StandardCharsets.UTF_8));
+                Files.copy(path, out);
+            }
+        }
+
+        // The class files of the test class and its superclasses, such as those generated at
+        // runtime, without which there is nothing to record the result against
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            String name = c.getName().replace('.', '/') + ".class";
+            InputStream in = c.getResourceAsStream("/" + name);
+            if (in == null) {
+                return null;
+            }
+
+            out.write(name.getBytes(StandardCharsets.UTF_8));
+            try (in) {
+                in.transferTo(out);
+            }
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * A write to the locked result cache file.
+     */
+    @FunctionalInterface
+    interface FileWrite {
+
+        /**
+         * Writes to the file.
+         *
+         * @param channel the channel of the locked file
+         * @throws IOException if the file could not be written
+         */
+        void write(FileChannel channel) throws IOException;
+    }
+}
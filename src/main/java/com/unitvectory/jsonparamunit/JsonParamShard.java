@@ -0,0 +1,270 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Deterministically splits the test files of a directory between a number of shards, such as JVM
+ * forks or CI nodes, so each shard runs only its own part of the corpus.
+ * 
+ * Test files are balanced by the durations recorded by earlier runs in a timings file that is only
+ * read, such as one restored from a CI cache: the test files with a known duration are assigned,
+ * longest first, to the shard with the least total duration so every shard finishes at roughly the
+ * same time. Test files without a recorded duration are assigned by a stable hash of their name
+ * and counted as taking the average duration. Without a timings file every test file is assigned
+ * by the hash. Every shard must be given the same timings file to agree on the split.
+ * 
+ * The shard is also a listener that records the time taken by the test cases of each test file and
+ * a JUnit extension that writes them to a separate output file after each test class:
+ *
+ * <pre>
+ * &#64;RegisterExtension
+ * static final JsonParamShard SHARD = JsonParamShard.shared();
+ *
+ * MyTest() {
+ *     super(JsonParamUnitConfig.builder().listener(SHARD).build());
+ * }
+ * </pre>
+ * 
+ * Each line of the timings file holds the nanoseconds taken by a test file followed by its name; a
+ * later line replaces an earlier one for the same test file, so the output files written by each
+ * shard can be concatenated into the timings file of the next run.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public final class JsonParamShard implements JsonParamListener, AfterAllCallback {
+
+    /**
+     * The system property holding the index of the shard to run, starting at 0.
+     */
+    public static final String INDEX_PROPERTY = "jsonparamunit.shardIndex";
+
+    /**
+     * The system property holding the number of shards.
+     */
+    public static final String COUNT_PROPERTY = "jsonparamunit.shardCount";
+
+    /**
+     * The system property holding the path of the timings file the split is balanced by.
+     */
+    public static final String TIMINGS_PROPERTY = "jsonparamunit.shardTimings";
+
+    /**
+     * The system property holding the path of the file the recorded durations are written to.
+     */
+    public static final String OUTPUT_PROPERTY = "jsonparamunit.shardTimingsOutput";
+
+    private static JsonParamShard shared;
+
+    private final int index;
+
+    private final int count;
+
+    private final Path output;
+
+    private final Map<String, Long> durations = new TreeMap<>();
+
+    private final Map<String, Long> recorded = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of the JsonParamShard reading the durations recorded in the timings
+     * file.
+     * 
+     * @param index the index of this shard, starting at 0
+     * @param count the number of shards
+     * @param timings the timings file that is only read; null to split by the hash of the names
+     * @param output the file the recorded durations are written to
+     */
+    public JsonParamShard(int index, int count, Path timings, Path output) {
+        if (count < 1) {
+            throw new JsonParamError("The number of shards must be at least 1.");
+        } else if (index < 0 || index >= count) {
+            throw new JsonParamError(
+                    "The shard index must be at least 0 and less than the number of shards.");
+        }
+
+        this.index = index;
+        this.count = count;
+        this.output = output.toAbsolutePath();
+        if (timings == null) {
+            return;
+        }
+
+        // A missing timings file fails as the other shards may have read it
+        try {
+            for (String line : Files.readAllLines(timings, StandardCharsets.UTF_8)) {
+                int space = line.indexOf(' ');
+                if (space > 0) {
+                    this.durations.put(line.substring(space + 1),
+                            Long.parseLong(line.substring(0, space)));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new JsonParamError("Failed to read the shard timings.", e);
+        }
+    }
+
+    /**
+     * Gets the JVM wide shard selected by the {@code jsonparamunit.shardIndex} and
+     * {@code jsonparamunit.shardCount} system properties, a single shard running every test file by
+     * default, balanced by the timings file of the {@code jsonparamunit.shardTimings} system
+     * property, if set, and writing to the {@code jsonparamunit.shardTimingsOutput} system
+     * property. By default the output file is
+     * {@code target/jsonparamunit-timings-<shard index>-<process id>.txt} so the JVM forks of a
+     * shard each write their own file.
+     * 
+     * The shard is created the first time it is requested; invalid system properties fail every
+     * request rather than the initialization of this class.
+     * 
+     * @return the shared shard
+     */
+    public static synchronized JsonParamShard shared() {
+        if (shared == null) {
+            shared = of(System.getProperties());
+        }
+
+        return shared;
+    }
+
+    /**
+     * Creates the shard selected by the properties.
+     * 
+     * @param properties the properties
+     * @return the shard
+     */
+    static JsonParamShard of(Properties properties) {
+        int index = number(properties, INDEX_PROPERTY, 0);
+        int count = number(properties, COUNT_PROPERTY, 1);
+
+        Path timings = null;
+        if (properties.getProperty(TIMINGS_PROPERTY) != null) {
+            timings = Path.of(properties.getProperty(TIMINGS_PROPERTY));
+            if (!Files.isRegularFile(timings)) {
+                throw new JsonParamError(
+                        "The " + TIMINGS_PROPERTY + " system property is not a timings file.");
+            }
+        }
+
+        String output = properties.getProperty(OUTPUT_PROPERTY, "target/jsonparamunit-timings-"
+                + index + "-" + ProcessHandle.current().pid() + ".txt");
+        return new JsonParamShard(index, count, timings, Path.of(output));
+    }
+
+    private static int number(Properties properties, String name, int defaultValue) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new JsonParamError("The " + name + " system property must be a number.", e);
+        }
+    }
+
+    /**
+     * Gets the file the recorded durations are written to.
+     * 
+     * @return the output file
+     */
+    Path getOutput() {
+        return this.output;
+    }
+
+    /**
+     * Selects the test files run by this shard.
+     * 
+     * @param names the names of every test file
+     * @return the names of the test files of this shard in the order provided
+     */
+    public List<String> select(List<String> names) {
+        if (this.count == 1) {
+            return List.copyOf(names);
+        }
+
+        long average = (long) this.durations.values().stream().mapToLong(Long::longValue)
+                .average().orElse(1);
+        long[] loads = new long[this.count];
+        Map<String, Integer> shards = new TreeMap<>();
+
+        // Test files without a duration stay on the same shard as other test files are added
+        List<String> known = new ArrayList<>();
+        for (String name : names) {
+            if (this.durations.containsKey(name)) {
+                known.add(name);
+            } else {
+                int shard = Math.floorMod(name.hashCode(), this.count);
+                shards.put(name, shard);
+                loads[shard] += average;
+            }
+        }
+
+        known.sort(Comparator.comparing((String name) -> this.durations.get(name)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        for (String name : known) {
+            int shard = 0;
+            for (int i = 1; i < this.count; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+
+            shards.put(name, shard);
+            loads[shard] += this.durations.get(name);
+        }
+
+        return names.stream().filter(name -> shards.get(name) == this.index)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void phaseCompleted(String testCase, JsonParamPhase phase, long nanos) {
+        // The test cases of a test file holding multiple test cases are named with their index
+        int bracket = testCase.lastIndexOf('[');
+        String name = bracket > 0 && testCase.endsWith("]") ? testCase.substring(0, bracket)
+                : testCase;
+        this.recorded.merge(name, nanos, Long::sum);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        save();
+    }
+
+    /**
+     * Writes the durations recorded so far by this shard to the output file; the timings file is
+     * never written.
+     */
+    public synchronized void save() {
+        List<String> lines = new ArrayList<>();
+        new TreeMap<>(this.recorded).forEach((name, nanos) -> lines.add(nanos + " " + name));
+
+        try {
+            Files.createDirectories(this.output.getParent());
+            Files.write(this.output, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to write the shard timings.", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Provides a {@link JsonParamCase} for each test case in the test files of a resources directory
+ * to a parameterized test that runs them with {@code runCase}.
+ *
+ * The directory is listed once and the test files are parsed ahead of the test cases being run on a
+ * bounded pool of threads so reading and parsing the test files overlaps with running the test
+ * cases. Test files are parsed using the config returned by the static method of the test class
+ * named by {@link #config()}, otherwise the config of the test instance when it is available, as it
+ * is with the per class test instance lifecycle. Failing both the default config is used and a
+ * test case fails if it is run by a test class with a different config.
+ * 
+ * The input and expected output of each test case are parsed ahead of time, except for the input
+ * of test classes that bind or stream it directly from the test file.
+ * 
+ * When a {@link JsonParamBundle} of the directory is provided the test files it contains are loaded
+ * from the bundle instead of being read and parsed.
+ * 
+ * Only the test files of the {@link JsonParamShard#shared() shared shard} selected by the system
+ * properties are provided, which is every test file unless more than one shard is configured.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(JsonParamArgumentsProvider.class)
+public @interface JsonParamSource {
+
+    /**
+     * The classpath resources directory containing the test files.
+     * 
+     * @return the resources directory
+     */
+    String resources();
+
+    /**
+     * The file extension of the test files.
+     * 
+     * @return the file extension
+     */
+    String fileExtension() default ".json";
+
+    /**
+     * Whether test files in subdirectories are included.
+     * 
+     * @return true to include subdirectories
+     */
+    boolean recurse() default false;
+
+    /**
+     * The number of test files parsed at the same time ahead of the test case being run, on a pool
+     * of threads shared by every test class; 0 to use the number of processors.
+     * 
+     * @return the number of test files parsed at the same time
+     */
+    int parallelism() default 0;
+
+    /**
+     * The classpath resource of a bundle of the resources directory; empty to read the test files.
+     * 
+     * @return the bundle resource
+     */
+    String bundle() default "";
+
+    /**
+     * The name of a static method of the test class, taking no arguments, that returns the config
+     * the test files are parsed with; empty to use the config of the test instance.
+     * 
+     * @return the config method name
+     */
+    String config() default "";
+}
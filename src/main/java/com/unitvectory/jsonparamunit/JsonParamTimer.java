@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.util.List;
+
+/**
+ * Times the phases of running a test case, each lap measuring the time since the previous one, and
+ * reports them to the listeners.
+ *
+ * The disabled timer shared by all test cases when there are no listeners never reads the clock.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+final class JsonParamTimer {
+
+    /**
+     * The timer used when there are no listeners.
+     */
+    static final JsonParamTimer DISABLED = new JsonParamTimer(List.of());
+
+    private final List<JsonParamListener> listeners;
+
+    private final boolean enabled;
+
+    private String name;
+
+    private long last;
+
+    /**
+     * Creates a new instance of the JsonParamTimer.
+     *
+     * @param listeners the listeners
+     */
+    JsonParamTimer(List<JsonParamListener> listeners) {
+        this.listeners = listeners;
+        this.enabled = !listeners.isEmpty();
+    }
+
+    /**
+     * Gets the timer for the listeners.
+     *
+     * @param listeners the listeners
+     * @return the timer; the disabled timer if there are no listeners
+     */
+    static JsonParamTimer of(List<JsonParamListener> listeners) {
+        return listeners.isEmpty() ? DISABLED : new JsonParamTimer(listeners);
+    }
+
+    /**
+     * Starts timing the first phase of a test case.
+     *
+     * @param testCase the name of the test case; null if not yet known
+     */
+    void start(String testCase) {
+        if (this.enabled) {
+            this.name = testCase;
+            this.last = System.nanoTime();
+        }
+    }
+
+    /**
+     * Completes the first phase of a test case whose name was not known when it started.
+     *
+     * @param testCase the name of the test case
+     * @param phase the phase
+     */
+    void lap(String testCase, JsonParamPhase phase) {
+        if (this.enabled) {
+            this.name = testCase;
+            lap(phase);
+        }
+    }
+
+    /**
+     * Completes a phase and starts timing the next one.
+     *
+     * @param phase the phase
+     */
+    void lap(JsonParamPhase phase) {
+        if (this.enabled) {
+            long now = System.nanoTime();
+            for (JsonParamListener listener : this.listeners) {
+                listener.phaseCompleted(this.name, phase, now - this.last);
+            }
+
+            this.last = now;
+        }
+    }
+}
@@ -8,22 +8,177 @@
  */
 package com.unitvectory.jsonparamunit;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
 import lombok.Value;
 
 /**
  * Configuration for customizing the behavior.
  * 
+ * The config is immutable and may be shared by test cases running concurrently. The configuration
+ * of the mapper is captured the first time the config is used, when the test class is constructed,
+ * and changes made to the mapper after that point are not seen. The modules are registered on a
+ * copy of the mapper so the mapper provided is not modified.
+ * 
+ * Configs that do not provide a mapper share a single default mapper whose configuration is
+ * captured once per JVM, so its serializers and deserializers are only resolved once however many
+ * test instances are created. The default mapper itself is never handed out; {@link #getMapper()}
+ * returns a copy of it made once per config, so a mapper must be provided to customize it. Configs
+ * with equal settings can be shared by {@link #intern()} so each distinct config is only set up
+ * once.
+ * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
 @Value
 @Builder
+@EqualsAndHashCode(doNotUseGetters = true)
+@ToString(doNotUseGetters = true)
 public class JsonParamUnitConfig {
 
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+
+    private static final JsonCodec DEFAULT_CODEC = new JsonCodec(DEFAULT_MAPPER);
+
+    // Weak so configs no longer used by any test class can be reclaimed
+    private static final Map<JsonParamUnitConfig, WeakReference<JsonParamUnitConfig>> REGISTRY =
+            new WeakHashMap<>();
+
+    private static final JsonParamUnitConfig DEFAULTS =
+            JsonParamUnitConfig.builder().build().intern();
+
     @Builder.Default
-    private final ObjectMapper mapper = new ObjectMapper();
+    @Getter(AccessLevel.NONE)
+    private final ObjectMapper mapper = DEFAULT_MAPPER;
 
     @Builder.Default
     private final boolean strictOutput = true;
+
+    @Builder.Default
+    private final ComparisonMode comparisonMode = ComparisonMode.NATIVE;
+
+    @Builder.Default
+    private final int maxDifferences = JsonNodeComparator.DEFAULT_MAX_DIFFERENCES;
+
+    @Builder.Default
+    private final int maxSnippetLength = JsonNodeComparator.DEFAULT_MAX_SNIPPET_LENGTH;
+
+    private final JsonParamCache cache;
+
+    @Builder.Default
+    private final FileLoadStrategy fileLoadStrategy = FileLoadStrategy.AUTO;
+
+    @Builder.Default
+    private final long memoryMapThreshold = 16L * 1024 * 1024;
+
+    @Builder.Default
+    private final boolean rawStringInput = false;
+
+    private final JsonParamBundle bundle;
+
+    private final JsonParamResultCache resultCache;
+
+    @Singular
+    private final List<JsonParamListener> listeners;
+
+    @Singular
+    private final List<Module> modules;
+
+    @Singular
+    private final List<JsonParamFormat> formats;
+
+    @Builder.Default
+    private final boolean prewarm = false;
+
+    @Getter(value = AccessLevel.PACKAGE, lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final JsonCodec codec = createCodec();
+
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ObjectMapper defaultMapperCopy = DEFAULT_MAPPER.copy();
+
+    @Getter(value = AccessLevel.PACKAGE, lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final String identity = createIdentity();
+
+    /**
+     * Gets the JVM wide config with the default settings, used by test classes that do not provide
+     * a config.
+     * 
+     * @return the default config
+     */
+    public static JsonParamUnitConfig defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Gets the mapper provided to the config, or the copy of the default mapper made for this
+     * config the first time it is requested so the mapper shared by the configs that do not provide
+     * one cannot be modified. The same mapper is returned by every call; changes made to it are not
+     * seen by the test cases, which use the configuration captured when the config was first used.
+     * 
+     * @return the mapper
+     */
+    public ObjectMapper getMapper() {
+        return this.mapper == DEFAULT_MAPPER ? getDefaultMapperCopy() : this.mapper;
+    }
+
+    /**
+     * Gets the JVM wide config with the same settings as this config, registering this config if
+     * there is none yet. Settings such as the mapper, cache and listeners are only equal when they
+     * are the same instances. Configs are only held while they are in use elsewhere.
+     * 
+     * @return the shared config
+     */
+    public JsonParamUnitConfig intern() {
+        synchronized (REGISTRY) {
+            WeakReference<JsonParamUnitConfig> reference = REGISTRY.get(this);
+            JsonParamUnitConfig existing = reference == null ? null : reference.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            REGISTRY.put(this, new WeakReference<>(this));
+            return this;
+        }
+    }
+
+    private String createIdentity() {
+        // The settings that decide whether a test case passes, without the identity hashes of
+        // toString so the identity is the same in every run
+        List<String> moduleIds = new ArrayList<>();
+        this.mapper.getRegisteredModuleIds().forEach(id -> moduleIds.add(id.toString()));
+        this.modules.forEach(module -> moduleIds.add(module.getTypeId().toString()));
+        List<String> formatNames = new ArrayList<>();
+        this.formats.forEach(format -> formatNames.add(format.getName()));
+        return String.join(" ", String.valueOf(this.strictOutput), this.comparisonMode.name(),
+                String.valueOf(this.maxDifferences), String.valueOf(this.maxSnippetLength),
+                String.valueOf(this.rawStringInput), this.mapper.getClass().getName(),
+                String.valueOf(this.mapper.getSerializationConfig().getSerializationFeatures()),
+                String.valueOf(
+                        this.mapper.getDeserializationConfig().getDeserializationFeatures()),
+                moduleIds.toString(), formatNames.toString());
+    }
+
+    private JsonCodec createCodec() {
+        if (!this.modules.isEmpty()) {
+            return new JsonCodec(this.mapper.copy().registerModules(this.modules));
+        }
+
+        return this.mapper == DEFAULT_MAPPER ? DEFAULT_CODEC : new JsonCodec(this.mapper);
+    }
 }
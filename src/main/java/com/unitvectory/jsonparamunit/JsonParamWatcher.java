@@ -0,0 +1,252 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.opentest4j.TestAbortedException;
+import lombok.Builder;
+
+/**
+ * Watches a corpus of test files and runs the test cases of each test file as it is changed,
+ * keeping the test class and its config warm in a long running JVM so an edit to a test file is
+ * checked without starting a new JVM.
+ * 
+ * The results of each test file are written to the output as it is run; only the test files that
+ * were created or modified are run. Changes that happen close together, such as an editor saving a
+ * file in several steps, are run once after the directory has been quiet for the settle duration.
+ * 
+ * <pre>
+ * JsonParamWatcher.builder().unit(new ReverseStringTest())
+ *         .directory(Path.of("src/test/resources/strings")).build().watch();
+ * </pre>
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Builder
+public final class JsonParamWatcher implements Closeable {
+
+    /**
+     * The test class whose test cases are run.
+     */
+    private final JsonNodeParamUnit unit;
+
+    /**
+     * The directory containing the test files.
+     */
+    private final Path directory;
+
+    /**
+     * The file extension of the test files.
+     */
+    @Builder.Default
+    private final String fileExtension = ".json";
+
+    /**
+     * Whether test files in subdirectories are included.
+     */
+    @Builder.Default
+    private final boolean recurse = true;
+
+    /**
+     * The output the results are written to.
+     */
+    @Builder.Default
+    private final PrintStream output = System.out;
+
+    /**
+     * How long the directory must be quiet before the changed test files are run.
+     */
+    @Builder.Default
+    private final Duration settle = Duration.ofMillis(50);
+
+    private final AtomicReference<WatchService> service = new AtomicReference<>();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Watches the directory running the test files as they change until the watcher is closed.
+     * 
+     * @throws InterruptedException if the thread is interrupted while watching
+     */
+    public void watch() throws InterruptedException {
+        if (this.unit == null) {
+            throw new JsonParamError("The provided unit is null.");
+        } else if (this.directory == null) {
+            throw new JsonParamError("The provided directory is null.");
+        }
+
+        try (WatchService watchService = this.directory.getFileSystem().newWatchService()) {
+            // Either close sees the service or the closed flag is seen here
+            this.service.set(watchService);
+            if (!this.closed.get()) {
+                register(watchService, this.directory);
+                this.output.println("Watching " + this.directory + " for changes to the "
+                        + this.fileExtension + " test files.");
+                loop(watchService);
+            }
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to watch the corpus directory.", e);
+        }
+    }
+
+    /**
+     * Stops watching, causing watch to return.
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed.set(true);
+        WatchService watchService = this.service.get();
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void loop(WatchService watchService) throws IOException, InterruptedException {
+        try {
+            while (true) {
+                Set<Path> changed = new TreeSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    collect((Path) key.watchable(), key.pollEvents(), changed, watchService);
+                    key.reset();
+                    key = watchService.poll(this.settle.toMillis(), TimeUnit.MILLISECONDS);
+                }
+
+                rerun(changed);
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Closed while waiting for changes
+        }
+    }
+
+    /**
+     * Collects the test files changed by the events of a watched directory, watching the
+     * directories that were created.
+     * 
+     * @param watched the watched directory
+     * @param events the events
+     * @param changed the changed test files
+     * @param watchService the watch service
+     * @throws IOException if a created directory could not be watched
+     */
+    void collect(Path watched, List<WatchEvent<?>> events, Set<Path> changed,
+            WatchService watchService) throws IOException {
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                this.output.println("Some changes were missed; save the test files again to run "
+                        + "them.");
+                continue;
+            }
+
+            Path path = watched.resolve((Path) event.context());
+            if (Files.isDirectory(path)) {
+                // The test files may have been written before the directory was watched
+                if (this.recurse) {
+                    register(watchService, path);
+                    changed.addAll(walk(path, this::isTestFile));
+                }
+            } else if (isTestFile(path)) {
+                changed.add(path);
+            }
+        }
+    }
+
+    /**
+     * Runs the changed test files that still exist.
+     * 
+     * @param changed the changed test files
+     */
+    void rerun(Collection<Path> changed) {
+        for (Path file : changed) {
+            if (Files.isRegularFile(file)) {
+                run(file);
+            }
+        }
+    }
+
+    /**
+     * Runs the test cases of a test file writing the results to the output.
+     * 
+     * @param file the test file
+     */
+    void run(Path file) {
+        String name = this.directory.relativize(file).toString().replace('\\', '/');
+        long start = System.nanoTime();
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        try {
+            Iterator<JsonParamCase> testCases =
+                    JsonCaseLoader.load(file, name, this.unit.getConfig());
+            while (testCases.hasNext()) {
+                JsonParamCase testCase = testCases.next();
+                try {
+                    this.unit.runCase(testCase);
+                    passed++;
+                } catch (TestAbortedException e) {
+                    // Passed in an earlier run recorded by the result cache
+                    skipped++;
+                } catch (RuntimeException | AssertionError e) {
+                    // A failing test case does not stop the watcher
+                    failed++;
+                    this.output.println("FAIL " + testCase.getName() + ": " + e.getMessage());
+                }
+            }
+        } catch (JsonParamError e) {
+            failed++;
+            this.output.println("FAIL " + name + ": " + e.getMessage());
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        this.output.println((failed == 0 ? "PASS " : "FAIL ") + name + " (" + passed
+                + " passed, " + failed + " failed, " + skipped + " skipped in " + millis
+                + " ms)");
+    }
+
+    private boolean isTestFile(Path path) {
+        return Files.isRegularFile(path) && path.toString().endsWith(this.fileExtension);
+    }
+
+    private void register(WatchService watchService, Path start) throws IOException {
+        for (Path path : walk(start, Files::isDirectory)) {
+            path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+    }
+
+    private List<Path> walk(Path start, Predicate<Path> filter) throws IOException {
+        List<Path> found;
+        try (Stream<Path> paths = Files.walk(start, this.recurse ? Integer.MAX_VALUE : 0)) {
+            found = paths.filter(filter).collect(Collectors.toList());
+        }
+
+        return found;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * A JSON value within a test file that is only parsed into a JsonNode once it is needed.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+final class JsonSlice {
+
+    private final ObjectReader reader;
+
+    private final ByteBuffer content;
+
+    private JsonNode node;
+
+    private JsonParamError error;
+
+    /**
+     * Creates a new instance of the JsonSlice for a value that has already been parsed.
+     * 
+     * @param node the parsed value
+     */
+    JsonSlice(JsonNode node) {
+        this(null, null);
+        this.node = node;
+    }
+
+    /**
+     * Creates a new instance of the JsonSlice for a value that has not yet been parsed.
+     * 
+     * @param reader the Jackson ObjectReader used to parse the value
+     * @param content the bytes of the value
+     */
+    JsonSlice(ObjectReader reader, ByteBuffer content) {
+        this.reader = reader;
+        this.content = content;
+    }
+
+    /**
+     * Gets the value, parsing it the first time it is requested.
+     * 
+     * @return the parsed value
+     */
+    synchronized JsonNode getNode() {
+        this.load();
+        if (this.error != null) {
+            throw this.error;
+        }
+
+        return this.node;
+    }
+
+    /**
+     * Creates a streaming parser over the value. Unless it has already been parsed the value is
+     * read directly from the bytes, in the format they were read from, without building a JsonNode
+     * tree.
+     * 
+     * @param reader the ObjectReader providing the configuration of the parser
+     * @return the parser
+     * @throws IOException if the parser could not be created
+     */
+    JsonParser createParser(ObjectReader reader) throws IOException {
+        if (this.content == null) {
+            return reader.treeAsTokens(this.node);
+        }
+
+        return JsonFileLoader.createParser(reader.with(this.reader.getFactory()), this.content);
+    }
+
+    /**
+     * Binds the value to a Java Class. Unless it has already been parsed the value is bound
+     * directly from the bytes without building a JsonNode tree.
+     * 
+     * @param <T> the type of the value
+     * @param typeReader the ObjectReader for the type of the value
+     * @param fieldName the field name used for error logging
+     * @return the value
+     */
+    <T> T bind(ObjectReader typeReader, String fieldName) {
+        try {
+            return this.content == null ? typeReader.readValue(this.node)
+                    : JsonFileLoader.readValue(typeReader.with(this.reader.getFactory()),
+                            this.content);
+        } catch (IOException e) {
+            throw new JsonParamError("The '" + fieldName
+                    + "' JSON Object could not be converted to the " + fieldName + " class.", e);
+        }
+    }
+
+    /**
+     * Gets the exact text of the value as it appears in the test file, assumed to be UTF-8.
+     * 
+     * @return the text; null if the value was parsed when it was read or is not stored as text
+     */
+    String getText() {
+        if (this.content == null || this.reader.getFactory().canHandleBinaryNatively()) {
+            return null;
+        }
+
+        return StandardCharsets.UTF_8.decode(this.content.duplicate()).toString();
+    }
+
+    /**
+     * Creates a copy of the value that can be parsed and modified independently; the bytes of the
+     * value are shared as they are never modified.
+     * 
+     * @return the copy
+     */
+    JsonSlice copy() {
+        if (this.content == null) {
+            return new JsonSlice(this.node.deepCopy());
+        }
+
+        return new JsonSlice(this.reader, this.content);
+    }
+
+    /**
+     * Parses the value if it has not already been parsed so it is ready once it is needed; any
+     * error is reported when the value is requested.
+     */
+    synchronized void load() {
+        if (this.node == null && this.error == null) {
+            try {
+                this.node = JsonFileLoader.readTree(this.reader, this.content);
+            } catch (IOException e) {
+                this.error = new JsonParamError("Failed to parse the JSON from the test file.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * JSON based parameterized test case that provides the input as a Jackson JsonParser and receives
+ * the output through a Jackson JsonGenerator so neither has to fit in memory.
+ * 
+ * The input is read directly from the test file. The output is written to a temporary file and
+ * compared against the expected output token by token as both are read, so the memory used does
+ * not grow with the size of the output. With strict output the first difference is reported by
+ * its JSON Pointer straight from the token streams; when the fields of an object are written in a
+ * different order than the expected output only the remaining fields of that object, up to
+ * 100,000 tokens, are held to compare them by name. Only when nothing is written, a reordered
+ * object is larger than that, or any difference is found with lenient output, are both outputs
+ * read into JsonNode trees to be compared and to describe the difference; these fallbacks are
+ * counted by {@link #getTreeFallbackCount()}.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public abstract class JsonStreamParamUnit extends JsonNodeParamUnit {
+
+    private final JsonTokenComparator tokenComparator;
+
+    /**
+     * Creates a new instance of the JsonStreamParamUnit.
+     */
+    protected JsonStreamParamUnit() {
+        this(JsonParamUnitConfig.defaults());
+    }
+
+    /**
+     * Creates a new instance of the JsonStreamParamUnit.
+     * 
+     * @param config the config
+     */
+    protected JsonStreamParamUnit(JsonParamUnitConfig config) {
+        super(config);
+        this.tokenComparator =
+                new JsonTokenComparator(config.isStrictOutput(), config.getMaxSnippetLength());
+    }
+
+    /**
+     * Gets the number of test cases whose outputs were compared by reading both into JsonNode
+     * trees rather than as token streams.
+     * 
+     * @return the tree fallback count
+     */
+    protected final long getTreeFallbackCount() {
+        return this.tokenComparator.getFallbackCount();
+    }
+
+    @Override
+    protected final JsonNode process(JsonNode input, String context) {
+        JsonCodec codec = this.getConfig().getCodec();
+        TokenBuffer buffer = new TokenBuffer(codec.getReader(), false);
+        try {
+            process(codec.getReader().treeAsTokens(input), buffer, context);
+            return codec.getReader().readTree(buffer.asParser(codec.getReader()));
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to process the input as a stream.", e);
+        }
+    }
+
+    @Override
+    final void verify(JsonSlice input, String context, JsonSlice output, JsonParamTimer timer) {
+        if (!isCompareNatively()) {
+            super.verify(input, context, output, timer);
+            return;
+        }
+
+        // The temporary file is named rather than created so there is always a file to delete
+        JsonCodec codec = this.getConfig().getCodec();
+        Path spool = Path.of(System.getProperty("java.io.tmpdir"),
+                "jsonparamunit-" + UUID.randomUUID() + ".json");
+        try {
+            try {
+                // The input is read by process, only opening the parser is timed as parsing
+                JsonParser inputParser = input.createParser(codec.getReader());
+                timer.lap(JsonParamPhase.PARSE);
+
+                // Stream the input from the test file and the output to the temporary file
+                try (OutputStream stream =
+                        Files.newOutputStream(spool, StandardOpenOption.CREATE_NEW);
+                        JsonGenerator generator =
+                                codec.getWriter().createGenerator(stream, JsonEncoding.UTF8)) {
+                    process(inputParser, generator, context);
+                }
+
+                timer.lap(JsonParamPhase.PROCESS);
+
+                // Compare the tokens as they are read, only building trees when the streams
+                // cannot decide whether the outputs match
+                String difference;
+                try (JsonParser expected = output.createParser(codec.getReader());
+                        JsonParser actual = codec.getReader().createParser(spool.toFile())) {
+                    difference = this.tokenComparator.compare(expected, actual, () -> {
+                        JsonNode actualNode;
+                        try (InputStream stream = Files.newInputStream(spool)) {
+                            actualNode = codec.getReader().readTree(stream);
+                        }
+
+                        assertJsonEquals(output.getNode(), actualNode);
+                        return null;
+                    });
+                }
+
+                assertNoDifference(difference);
+                timer.lap(JsonParamPhase.ASSERT);
+            } finally {
+                // A temporary file that cannot be deleted fails the test case
+                Files.deleteIfExists(spool);
+            }
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to process the input as a stream.", e);
+        }
+    }
+
+    @Override
+    final long measure(JsonSlice input, String context, LongSupplier meter) {
+        // The output is written nowhere so only process is measured
+        JsonCodec codec = this.getConfig().getCodec();
+        long elapsed;
+        try (JsonParser parser = input.createParser(codec.getReader());
+                JsonGenerator generator = codec.getWriter()
+                        .createGenerator(OutputStream.nullOutputStream(), JsonEncoding.UTF8)) {
+            long start = meter.getAsLong();
+            process(parser, generator, context);
+            elapsed = meter.getAsLong() - start;
+        } catch (IOException e) {
+            throw new JsonParamError("Failed to process the input as a stream.", e);
+        }
+
+        return elapsed;
+    }
+
+    /**
+     * Process the input and write the output.
+     * 
+     * The input is positioned before the first token of the input JSON and exactly one JSON value
+     * is expected to be written to the output; the output is closed once this returns.
+     * 
+     * @param input the parser over the input
+     * @param output the generator for the output
+     * @param context the context
+     * @throws IOException if the input could not be read or the output could not be written
+     */
+    protected abstract void process(JsonParser input, JsonGenerator output, String context)
+            throws IOException;
+}
@@ -8,6 +8,7 @@
  */
 package com.unitvectory.jsonparamunit;
 
+import java.util.function.LongSupplier;
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
@@ -21,7 +22,7 @@ public abstract class JsonStringParamUnit extends JsonNodeParamUnit {
      * Creates a new instance of the JsonStringParamUnit.
      */
     protected JsonStringParamUnit() {
-        this(JsonParamUnitConfig.builder().build());
+        this(JsonParamUnitConfig.defaults());
     }
 
     /**
@@ -35,10 +36,56 @@ public abstract class JsonStringParamUnit extends JsonNodeParamUnit {
 
     @Override
     protected final JsonNode process(JsonNode input, String context) {
-        String inputString =
-                JsonConverter.jsonNodeToString(this.getConfig().getMapper(), input, "input");
+        JsonCodec codec = this.getConfig().getCodec();
+        String inputString = JsonConverter.jsonNodeToString(codec.getWriter(), input, "input");
         String outputString = process(inputString, context);
-        return JsonConverter.stringToJsonNode(this.getConfig().getMapper(), outputString, "output");
+        return JsonConverter.stringToJsonNode(codec.getReader(), outputString, "output");
+    }
+
+    @Override
+    final void verify(JsonSlice input, String context, JsonSlice output, JsonParamTimer timer) {
+        JsonCodec codec = this.getConfig().getCodec();
+
+        // The exact text of the input from the test file without building a JsonNode tree
+        String inputString = this.getConfig().isRawStringInput() ? input.getText() : null;
+        if (inputString == null) {
+            JsonNode inputNode = input.getNode();
+            timer.lap(JsonParamPhase.PARSE);
+            inputString = JsonConverter.jsonNodeToString(codec.getWriter(), inputNode, "input");
+        }
+
+        timer.lap(JsonParamPhase.CONVERT);
+
+        String outputString = process(inputString, context);
+        timer.lap(JsonParamPhase.PROCESS);
+
+        JsonNode expectedOutputNode = output.getNode();
+        timer.lap(JsonParamPhase.PARSE);
+
+        if (!isCompareNatively()) {
+            JsonNode actualOutputNode =
+                    JsonConverter.stringToJsonNode(codec.getReader(), outputString, "output");
+            timer.lap(JsonParamPhase.CONVERT);
+            assertOutput(expectedOutputNode, actualOutputNode, timer);
+        } else {
+            // Compare the output as it is parsed without building a JsonNode tree
+            assertJsonStringEquals(expectedOutputNode, outputString);
+            timer.lap(JsonParamPhase.ASSERT);
+        }
+    }
+
+    @Override
+    final long measure(JsonSlice input, String context, LongSupplier meter) {
+        // Neither encoding the input nor parsing the output is measured
+        String inputString = this.getConfig().isRawStringInput() ? input.getText() : null;
+        if (inputString == null) {
+            inputString = JsonConverter.jsonNodeToString(this.getConfig().getCodec().getWriter(),
+                    input.getNode(), "input");
+        }
+
+        long start = meter.getAsLong();
+        process(inputString, context);
+        return meter.getAsLong() - start;
     }
 
     /**
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Compares the expected and actual output as token streams read side by side, holding only the
+ * path to the current value and one scalar value of each, so outputs far larger than the memory
+ * available can be compared.
+ *
+ * In strict mode the first difference is reported by its JSON Pointer as the JsonNodeComparator
+ * would describe it, with numbers compared by value. Objects are compared as streams while their
+ * fields are written in the same order as the expected output; once the field names differ only
+ * the remaining fields of that object are read into trees to compare them by name, and the
+ * comparison then continues as streams after the object. At most {@code maxBufferedTokens} tokens
+ * of the remaining fields are held for each output, so a reordered object as large as the whole
+ * output is not read into memory twice.
+ *
+ * The whole outputs are only compared as trees when nothing was written, when the remaining
+ * fields of a reordered object exceed the buffer or, in lenient mode, once any difference is found,
+ * as the difference may be allowed by the lenient comparison. These fallbacks are counted by
+ * {@link #getFallbackCount()}.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+final class JsonTokenComparator {
+
+    /**
+     * The default maximum number of tokens of a reordered object held to compare its fields.
+     */
+    static final int DEFAULT_MAX_BUFFERED_TOKENS = 100_000;
+
+    private final boolean strict;
+
+    private final int maxSnippetLength;
+
+    private final int maxBufferedTokens;
+
+    private final JsonNodeComparator scalars;
+
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * Creates a new instance of the JsonTokenComparator.
+     *
+     * @param strict true for strict comparison; false for lenient comparison
+     * @param maxSnippetLength the maximum length of the values quoted in a difference
+     */
+    JsonTokenComparator(boolean strict, int maxSnippetLength) {
+        this(strict, maxSnippetLength, DEFAULT_MAX_BUFFERED_TOKENS);
+    }
+
+    /**
+     * Creates a new instance of the JsonTokenComparator.
+     *
+     * @param strict true for strict comparison; false for lenient comparison
+     * @param maxSnippetLength the maximum length of the values quoted in a difference
+     * @param maxBufferedTokens the maximum number of tokens of a reordered object held for each
+     *        output before falling back to comparing trees
+     */
+    JsonTokenComparator(boolean strict, int maxSnippetLength, int maxBufferedTokens) {
+        this.strict = strict;
+        this.maxSnippetLength = maxSnippetLength;
+        this.maxBufferedTokens = maxBufferedTokens;
+        this.scalars = new JsonNodeComparator(true);
+    }
+
+    /**
+     * Gets the number of comparisons that fell back to comparing the whole outputs as trees.
+     *
+     * @return the fallback count
+     */
+    long getFallbackCount() {
+        return this.fallbacks.sum();
+    }
+
+    /**
+     * Compares the next value read by each parser.
+     *
+     * @param expected the parser positioned before the expected value
+     * @param actual the parser positioned before the actual value
+     * @param fallback the comparison of the trees used when the streams cannot decide
+     * @return the description of the first difference; null if they match
+     * @throws IOException if a value could not be read
+     */
+    String compare(JsonParser expected, JsonParser actual, TreeFallback fallback)
+            throws IOException {
+        expected.nextToken();
+        actual.nextToken();
+
+        String difference;
+        boolean undecided = false;
+        try {
+            difference = compareValue(expected, actual, new ArrayDeque<>());
+        } catch (Undecided e) {
+            difference = null;
+            undecided = true;
+        }
+
+        if (difference != null && this.strict) {
+            return difference;
+        }
+
+        // The output must be exactly one value, which is only partly read if a difference was found
+        while (!actual.getParsingContext().inRoot()) {
+            actual.nextToken();
+        }
+
+        if (actual.nextToken() != null) {
+            return difference(new ArrayDeque<>(),
+                    "unexpected " + describe(actual) + " after the output");
+        }
+
+        // Lenient differences may be allowed by comparing the trees
+        if (undecided || difference != null) {
+            this.fallbacks.increment();
+            return fallback.compare();
+        }
+
+        return null;
+    }
+
+    private String compareValue(JsonParser expected, JsonParser actual, Deque<Object> path)
+            throws IOException, Undecided {
+        JsonToken expectedToken = expected.currentToken();
+        JsonToken actualToken = actual.currentToken();
+        if (actualToken == null) {
+            // Nothing was written
+            throw new Undecided();
+        } else if (expectedToken == JsonToken.START_OBJECT
+                && actualToken == JsonToken.START_OBJECT) {
+            return compareObject(expected, actual, path);
+        } else if (expectedToken == JsonToken.START_ARRAY
+                && actualToken == JsonToken.START_ARRAY) {
+            return compareArray(expected, actual, path);
+        } else if (expectedToken.isStructStart() || actualToken.isStructStart()) {
+            return difference(path,
+                    "expected " + describe(expected) + " but was " + describe(actual));
+        }
+
+        JsonNode expectedValue = expected.readValueAsTree();
+        JsonNode actualValue = actual.readValueAsTree();
+        if (this.scalars.equivalent(expectedValue, actualValue)) {
+            return null;
+        }
+
+        return difference(path, "expected " + describe(expectedValue) + " but was "
+                + describe(actualValue));
+    }
+
+    private String compareObject(JsonParser expected, JsonParser actual, Deque<Object> path)
+            throws IOException, Undecided {
+        while (true) {
+            JsonToken expectedToken = expected.nextToken();
+            JsonToken actualToken = actual.nextToken();
+            if (expectedToken == JsonToken.END_OBJECT) {
+                if (actualToken == JsonToken.END_OBJECT) {
+                    return null;
+                }
+
+                // Every expected field was found in order so any further field is unexpected
+                path.addLast(actual.currentName());
+                actual.nextToken();
+                return difference(path, "unexpected " + describe(actual));
+            }
+
+            String name = expected.currentName();
+            if (actualToken != JsonToken.END_OBJECT && !name.equals(actual.currentName())) {
+                // The fields may only be in a different order
+                return compareFields(expected, actual, path);
+            }
+
+            path.addLast(name);
+            expected.nextToken();
+            if (actualToken == JsonToken.END_OBJECT) {
+                return difference(path, "expected " + describe(expected) + " but none found");
+            }
+
+            actual.nextToken();
+            String difference = compareValue(expected, actual, path);
+            if (difference != null) {
+                return difference;
+            }
+
+            path.removeLast();
+        }
+    }
+
+    private String compareFields(JsonParser expected, JsonParser actual, Deque<Object> path)
+            throws IOException, Undecided {
+        // Only a bounded part of the remaining fields of this object is held to compare them
+        Map<String, JsonNode> expectedFields = readFields(expected);
+        Map<String, JsonNode> actualFields = readFields(actual);
+        for (Map.Entry<String, JsonNode> field : expectedFields.entrySet()) {
+            path.addLast(field.getKey());
+            JsonNode actualValue = actualFields.remove(field.getKey());
+            if (actualValue == null) {
+                return difference(path,
+                        "expected " + describe(field.getValue()) + " but none found");
+            }
+
+            String difference = compareValue(traverse(field.getValue(), expected),
+                    traverse(actualValue, actual), path);
+            if (difference != null) {
+                return difference;
+            }
+
+            path.removeLast();
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> unexpected = actualFields.entrySet().iterator();
+        if (unexpected.hasNext()) {
+            Map.Entry<String, JsonNode> field = unexpected.next();
+            path.addLast(field.getKey());
+            return difference(path, "unexpected " + describe(field.getValue()));
+        }
+
+        return null;
+    }
+
+    private Map<String, JsonNode> readFields(JsonParser parser) throws IOException, Undecided {
+        TokenBuffer buffer = new TokenBuffer(parser.getCodec(), false);
+        buffer.writeStartObject();
+        int tokens = 0;
+        int depth = 0;
+        for (JsonToken token = parser.currentToken(); depth > 0 || token != JsonToken.END_OBJECT;
+                token = parser.nextToken()) {
+            if (++tokens > this.maxBufferedTokens) {
+                throw new Undecided();
+            } else if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+
+            buffer.copyCurrentEvent(parser);
+        }
+
+        buffer.writeEndObject();
+        JsonParser fields = buffer.asParser(parser.getCodec());
+        fields.nextToken();
+        ObjectNode node = fields.readValueAsTree();
+
+        Map<String, JsonNode> map = new LinkedHashMap<>();
+        node.properties().forEach(field -> map.put(field.getKey(), field.getValue()));
+        return map;
+    }
+
+    private static JsonParser traverse(JsonNode node, JsonParser parser) throws IOException {
+        JsonParser traversal = node.traverse(parser.getCodec());
+        traversal.nextToken();
+        return traversal;
+    }
+
+    private String compareArray(JsonParser expected, JsonParser actual, Deque<Object> path)
+            throws IOException, Undecided {
+        for (int index = 0;; index++) {
+            JsonToken expectedToken = expected.nextToken();
+            JsonToken actualToken = actual.nextToken();
+            if (expectedToken == JsonToken.END_ARRAY && actualToken == JsonToken.END_ARRAY) {
+                return null;
+            }
+
+            path.addLast(index);
+            if (expectedToken == JsonToken.END_ARRAY) {
+                return difference(path, "unexpected " + describe(actual));
+            } else if (actualToken == JsonToken.END_ARRAY) {
+                return difference(path, "expected " + describe(expected) + " but none found");
+            }
+
+            String difference = compareValue(expected, actual, path);
+            if (difference != null) {
+                return difference;
+            }
+
+            path.removeLast();
+        }
+    }
+
+    private String describe(JsonParser parser) throws IOException {
+        // Only scalar values are read, objects and arrays are described by their type
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return "an object";
+        } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+            return "an array";
+        }
+
+        JsonNode value = parser.readValueAsTree();
+        return describe(value);
+    }
+
+    private String describe(JsonNode node) {
+        return JsonNodeComparator.describe(node, this.maxSnippetLength);
+    }
+
+    private static String difference(Deque<Object> path, String message) {
+        return JsonNodeComparator.pointer(path) + ": " + message;
+    }
+
+    /**
+     * The comparison of the outputs as trees.
+     */
+    @FunctionalInterface
+    interface TreeFallback {
+
+        /**
+         * Compares the outputs as trees.
+         *
+         * @return the description of the differences; null if they match
+         * @throws IOException if an output could not be read
+         */
+        String compare() throws IOException;
+    }
+
+    /**
+     * Thrown when the token streams cannot decide whether the outputs match.
+     */
+    private static final class Undecided extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private Undecided() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.unitvectory.jsonparamunit.example.InClass;
+import com.unitvectory.jsonparamunit.example.OutClass;
+
+/**
+ * Test the comparisons made in the NATIVE comparison mode by test classes overriding the
+ * assertJsonEquals methods.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class AssertOverrideTest {
+
+    private static final JsonNode OUTPUT =
+            JsonNodeFactory.instance.objectNode().put("success", true);
+
+    @TempDir
+    Path tempDir;
+
+    private String file;
+
+    private final List<String> calls = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.file = Files.writeString(this.tempDir.resolve("file.json"),
+                "{\"input\":{\"foo\":1},\"output\":{\"success\":true}}").toString();
+    }
+
+    @Test
+    public void nodeTest() {
+        new JsonNodeParamUnit() {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return OUTPUT;
+            }
+
+            @Override
+            protected void assertJsonEquals(JsonNode expected, JsonNode actual) {
+                AssertOverrideTest.this.calls.add("node");
+                super.assertJsonEquals(expected, actual);
+            }
+        }.run(this.file);
+
+        assertEquals(List.of("node"), this.calls);
+    }
+
+    @Test
+    public void classTest() {
+        new JsonClassParamUnit<InClass, OutClass>(InClass.class) {
+
+            @Override
+            protected OutClass process(InClass input, String context) {
+                return OutClass.builder().success(true).build();
+            }
+
+            @Override
+            protected void assertJsonEquals(JsonNode expected, JsonNode actual) {
+                AssertOverrideTest.this.calls.add("node");
+                super.assertJsonEquals(expected, actual);
+            }
+        }.run(this.file);
+
+        assertEquals(List.of("node"), this.calls);
+    }
+
+    @Test
+    public void stringTest() {
+        new JsonStringParamUnit() {
+
+            @Override
+            protected String process(String input, String context) {
+                return OUTPUT.toString();
+            }
+
+            @Override
+            protected void assertJsonEquals(JsonNode expected, JsonNode actual) {
+                AssertOverrideTest.this.calls.add("node");
+                super.assertJsonEquals(expected, actual);
+            }
+        }.run(this.file);
+
+        assertEquals(List.of("node"), this.calls);
+    }
+
+    @Test
+    public void streamTest() {
+        new JsonStreamParamUnit() {
+
+            @Override
+            protected void process(JsonParser input, JsonGenerator output, String context)
+                    throws IOException {
+                output.writeStartObject();
+                output.writeBooleanField("success", true);
+                output.writeEndObject();
+            }
+
+            @Override
+            protected void assertJsonEquals(JsonNode expected, JsonNode actual) {
+                AssertOverrideTest.this.calls.add("node");
+                super.assertJsonEquals(expected, actual);
+            }
+        }.run(this.file);
+
+        assertEquals(List.of("node"), this.calls);
+    }
+
+    @Test
+    public void stringOverriddenTest() {
+        // A test class overriding only the String comparison is compared with it
+        new StringOverridden().run(this.file);
+        assertEquals(List.of("string"), this.calls);
+    }
+
+    @Test
+    public void bothOverriddenTest() {
+        // The JsonNode comparison is used when both are overridden, the String one by a superclass
+        new StringOverridden() {
+
+            @Override
+            protected void assertJsonEquals(JsonNode expected, JsonNode actual) {
+                AssertOverrideTest.this.calls.add("node");
+                super.assertJsonEquals(expected, actual);
+            }
+        }.run(this.file);
+
+        assertEquals(List.of("node"), this.calls);
+    }
+
+    /**
+     * A test class overriding only the String comparison.
+     */
+    private class StringOverridden extends JsonNodeParamUnit {
+
+        @Override
+        protected JsonNode process(JsonNode input, String context) {
+            return OUTPUT;
+        }
+
+        @Override
+        protected void assertJsonEquals(String expected, String actual) {
+            AssertOverrideTest.this.calls.add("string");
+            super.assertJsonEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Stress tests running the same test class instances from many threads at once, as happens when
+ * JUnit parallel execution is enabled.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class ConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ITERATIONS = 200;
+
+    @Test
+    public void nodeTest() throws Exception {
+        MultiCaseTest unit = new MultiCaseTest();
+        stress(files("/multi"), unit::run);
+    }
+
+    @Test
+    public void stringTest() throws Exception {
+        JsonStringTest unit = new JsonStringTest();
+        stress(files("/files"), unit::run);
+    }
+
+    @Test
+    public void classTest() throws Exception {
+        ReverseStringTest unit = new ReverseStringTest();
+        stress(files("/strings"), unit::run);
+    }
+
+    @Test
+    public void cachedTest() throws Exception {
+        JsonParamCacheTest unit = new JsonParamCacheTest();
+        stress(files("/files"), unit::run);
+
+        // Every thread shares the parsed test files
+        JsonParamCache cache = unit.getConfig().getCache();
+        assertEquals(2, cache.size());
+        assertEquals(THREADS * ITERATIONS, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    public void jsonAssertTest() throws Exception {
+        JsonAssertModeTest unit = new JsonAssertModeTest();
+        stress(files("/files"), unit::run);
+    }
+
+    @Test
+    public void failureTest() throws Exception {
+        FailuresTest unit = new FailuresTest();
+        stress(files("/failures/mismatch"), file -> {
+            JsonParamError exception = assertThrows(JsonParamError.class, () -> unit.run(file));
+            assertEquals("The actual output does not match the expected output.\n"
+                    + "/foo: expected \"bar\" but none found", exception.getMessage());
+        });
+    }
+
+    @Test
+    public void mapperChangedTest() throws Exception {
+        ReverseStringTest unit = new ReverseStringTest();
+
+        // Changing the mapper while the test cases are running does not affect them
+        stress(files("/strings"), file -> {
+            unit.getConfig().getMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            unit.run(file);
+        });
+    }
+
+    private static List<String> files(String resources) throws Exception {
+        Path directory = Path.of(ConcurrencyTest.class.getResource(resources).toURI());
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.map(Path::toString).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void stress(List<String> files, Consumer<String> test) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS * ITERATIONS; i++) {
+                String file = files.get(i % files.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    test.accept(file);
+                    return null;
+                }));
+            }
+
+            // Release every thread at once to maximize contention
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+    }
+}
@@ -109,6 +109,71 @@ public class FailuresTest extends JsonNodeParamUnit {
                 exception.getMessage());
     }
 
+    @ParameterizedTest
+    @ListFileSource(resources = "/failures/mismatch", fileExtension = ".json")
+    public void outputMismatchTest(String file) {
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> {
+            run(file);
+        });
+
+        assertEquals("The actual output does not match the expected output.\n"
+                + "/foo: expected \"bar\" but none found", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/failures/badstart", fileExtension = ".json")
+    public void badStartTest(String file) {
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> {
+            run(file);
+        });
+
+        assertEquals("Failed to parse the JSON from the test file.", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/failures/emptyarray", fileExtension = ".json")
+    public void noTestCasesTest(String file) {
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> {
+            run(file);
+        });
+
+        assertEquals("The test file does not contain any test cases.", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/failures/multi", fileExtension = ".json")
+    public void multipleFailuresTest(String file) {
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> {
+            run(file);
+        });
+
+        assertEquals("2 of 3 test cases in the test file failed.\n"
+                + "Test case 1: The actual output does not match the expected output.\n"
+                + "/foo: expected \"bar\" but none found\n"
+                + "Test case 2: The 'input' JSON Object is missing from the test file.",
+                exception.getMessage());
+        assertEquals(2, exception.getSuppressed().length);
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/failures/multi", fileExtension = ".json")
+    public void indexTest(String file) {
+        run(file, 0);
+
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> {
+            run(file, 2);
+        });
+
+        assertEquals("The 'input' JSON Object is missing from the test file.",
+                exception.getMessage());
+
+        exception = assertThrows(JsonParamError.class, () -> {
+            run(file, 3);
+        });
+
+        assertEquals("The test file does not contain test case 3.", exception.getMessage());
+    }
+
     @Override
     public JsonNode process(JsonNode input, String context) {
         return this.getConfig().getMapper().createObjectNode();
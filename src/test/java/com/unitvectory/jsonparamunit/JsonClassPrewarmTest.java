@@ -0,0 +1,181 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.unitvectory.jsonparamunit.example.InClass;
+import com.unitvectory.jsonparamunit.example.OutClass;
+
+/**
+ * Test the prewarm and modules parameters of JsonClassParamUnit.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonClassPrewarmTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static JsonClassParamUnit<InClass, OutClass> unit(JsonParamUnitConfig config) {
+        return new JsonClassParamUnit<InClass, OutClass>(InClass.class, config) {
+
+            @Override
+            protected OutClass process(InClass input, String context) {
+                return OutClass.builder().success(input.getFoo() == 1).build();
+            }
+        };
+    }
+
+    private static int cachedSerializers(ObjectMapper mapper) {
+        DefaultSerializerProvider provider =
+                (DefaultSerializerProvider) mapper.getSerializerProvider();
+        return provider.cachedSerializersCount();
+    }
+
+    @Test
+    public void prewarmTest() throws Exception {
+        ObjectMapper cold = new ObjectMapper();
+        unit(JsonParamUnitConfig.builder().mapper(cold).build());
+        assertEquals(0, cachedSerializers(cold));
+
+        // The serializer of the output class is resolved when the test instance is constructed
+        ObjectMapper warm = new ObjectMapper();
+        JsonClassParamUnit<InClass, OutClass> unit =
+                unit(JsonParamUnitConfig.builder().mapper(warm).prewarm(true).build());
+        assertTrue(cachedSerializers(warm) > 0);
+        unit.run(path("/files/foo.json"));
+    }
+
+    @Test
+    public void rawTest() throws Exception {
+        // Without a concrete output class O nothing is prewarmed
+        ObjectMapper mapper = new ObjectMapper();
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        JsonClassParamUnit<InClass, OutClass> raw = new JsonClassParamUnit(InClass.class,
+                JsonParamUnitConfig.builder().mapper(mapper).prewarm(true).build()) {
+
+            @Override
+            protected Object process(Object input, String context) {
+                return OutClass.builder().success(((InClass) input).getFoo() == 1).build();
+            }
+        };
+        assertEquals(0, cachedSerializers(mapper));
+        raw.run(path("/files/foo.json"));
+
+        ObjectMapper generic = new ObjectMapper();
+        Generic<OutClass> unit =
+                new Generic<>(JsonParamUnitConfig.builder().mapper(generic).prewarm(true).build(),
+                        OutClass.builder().success(true).build());
+        assertEquals(0, cachedSerializers(generic));
+        unit.run(path("/files/bar.json"));
+
+        ObjectMapper object = new ObjectMapper();
+        new Generic<Object>(JsonParamUnitConfig.builder().mapper(object).prewarm(true).build(),
+                null) {
+        };
+        assertEquals(0, cachedSerializers(object));
+
+        ObjectMapper abstractType = new ObjectMapper();
+        new Generic<Number>(
+                JsonParamUnitConfig.builder().mapper(abstractType).prewarm(true).build(), 1) {
+        }.run(file("{\"input\":{\"foo\":1},\"output\":1}"));
+    }
+
+    @Test
+    public void subclassTest() throws Exception {
+        // The properties of a subclass of the output class O are written as well
+        String file =
+                file("{\"input\":{\"foo\":1},\"output\":{\"success\":true,\"extra\":1}}");
+        new Generic<OutClass>(JsonParamUnitConfig.builder().prewarm(true).build(), new Extra()) {
+        }.run(file);
+        new Generic<OutClass>(JsonParamUnitConfig.builder().prewarm(true)
+                .comparisonMode(ComparisonMode.JSON_ASSERT).build(), new Extra()) {
+        }.run(file);
+
+        // A null output is written by the prewarmed writer
+        new Generic<OutClass>(JsonParamUnitConfig.builder().prewarm(true).build(), null) {
+        }.run(file("{\"input\":{\"foo\":1},\"output\":null}"));
+    }
+
+    @Test
+    public void modulesTest() throws Exception {
+        SimpleModule module = new SimpleModule("test");
+        module.addSerializer(OutClass.class, new JsonSerializer<OutClass>() {
+
+            @Override
+            public void serialize(OutClass value, JsonGenerator generator,
+                    SerializerProvider serializers) throws IOException {
+                generator.writeStartObject();
+                generator.writeBooleanField("ok", value.isSuccess());
+                generator.writeEndObject();
+            }
+        });
+
+        ObjectMapper mapper = new ObjectMapper();
+        Path file = Files.writeString(this.tempDir.resolve("file.json"),
+                "{\"input\":{\"foo\":1},\"output\":{\"ok\":true}}");
+        unit(JsonParamUnitConfig.builder().mapper(mapper).module(module).prewarm(true).build())
+                .run(file.toString());
+
+        // The module is registered on a copy of the mapper
+        assertTrue(mapper.getRegisteredModuleIds().isEmpty());
+    }
+
+    private String file(String content) throws Exception {
+        return Files.writeString(this.tempDir.resolve("file.json"), content).toString();
+    }
+
+    private static String path(String resource) throws Exception {
+        return Path.of(JsonClassPrewarmTest.class.getResource(resource).toURI()).toString();
+    }
+
+    /**
+     * A test class whose output class O is left to its subclasses.
+     */
+    private static class Generic<O> extends JsonClassParamUnit<InClass, O> {
+
+        private final O output;
+
+        Generic(JsonParamUnitConfig config, O output) {
+            super(InClass.class, config);
+            this.output = output;
+        }
+
+        @Override
+        protected O process(InClass input, String context) {
+            return this.output;
+        }
+    }
+
+    /**
+     * A subclass of the output class with an extra property.
+     */
+    public static class Extra extends OutClass {
+
+        Extra() {
+            super(true);
+        }
+
+        public int getExtra() {
+            return 1;
+        }
+    }
+}
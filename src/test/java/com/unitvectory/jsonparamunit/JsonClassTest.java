@@ -8,7 +8,12 @@
  */
 package com.unitvectory.jsonparamunit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.unitvectory.fileparamunit.ListFileSource;
 import com.unitvectory.jsonparamunit.example.InClass;
 import com.unitvectory.jsonparamunit.example.OutClass;
@@ -36,6 +41,30 @@ public class JsonClassTest extends JsonClassParamUnit<InClass, OutClass> {
         run(file);
     }
 
+    @ParameterizedTest
+    @ListFileSource(resources = "/failures/mismatch", fileExtension = ".json")
+    public void mismatchTest(String file) {
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> run(file));
+        assertEquals("The actual output does not match the expected output.\n"
+                + "/foo: expected \"bar\" but none found\n/success: unexpected false",
+                exception.getMessage());
+    }
+
+    @Test
+    public void processNodeTest() {
+        ObjectNode input = JsonNodeFactory.instance.objectNode().put("foo", 1);
+        assertEquals("{\"success\":true}", process(input, null).toString());
+    }
+
+    @Test
+    public void bindFailTest() {
+        ObjectNode input = JsonNodeFactory.instance.objectNode().put("foo", "x");
+        JsonParamError exception =
+                assertThrows(JsonParamError.class, () -> process(input, null));
+        assertEquals("The 'input' JSON Object could not be converted to the input class.",
+                exception.getMessage());
+    }
+
     @Override
     public OutClass process(InClass input, String context) {
         if (input.getFoo() == 0) {
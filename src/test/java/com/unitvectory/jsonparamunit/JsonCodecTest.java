@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.unitvectory.jsonparamunit.example.OutputString;
+
+/**
+ * Test the JsonCodec class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonCodecTest {
+
+    @Test
+    public void valueToTreeTest() {
+        JsonCodec codec = new JsonCodec(new ObjectMapper());
+        assertEquals("{\"value\":\"a\"}",
+                codec.valueToTree(OutputString.builder().value("a").build(), "output").toString());
+        assertEquals("null", codec.valueToTree(null, "output").toString());
+    }
+
+    @Test
+    public void valueToTreeFailTest() {
+        JsonCodec codec = new JsonCodec(new ObjectMapper());
+        JsonParamError exception =
+                assertThrows(JsonParamError.class, () -> codec.valueToTree(new Object(), "output"));
+        assertEquals("The 'output' object could not be converted to JSON.", exception.getMessage());
+    }
+
+    @Test
+    public void compareValueTest() throws Exception {
+        JsonCodec codec = new JsonCodec(new ObjectMapper());
+        JsonNodeComparator comparator = new JsonNodeComparator(true);
+        JsonNode expected = new ObjectMapper().readTree("{\"value\":\"a\"}");
+
+        assertNull(codec.compareValue(comparator, expected,
+                OutputString.builder().value("a").build(), "output"));
+        assertEquals("/value: expected \"a\" but was \"b\"", codec.compareValue(comparator,
+                expected, OutputString.builder().value("b").build(), "output"));
+    }
+
+    @Test
+    public void compareValueFailTest() throws Exception {
+        JsonCodec codec = new JsonCodec(new ObjectMapper());
+        JsonNodeComparator comparator = new JsonNodeComparator(true);
+        JsonNode expected = new ObjectMapper().readTree("{}");
+
+        JsonParamError exception = assertThrows(JsonParamError.class,
+                () -> codec.compareValue(comparator, expected, new Object(), "output"));
+        assertEquals("The 'output' object could not be converted to JSON.", exception.getMessage());
+    }
+
+    @Test
+    public void compareJsonTest() throws Exception {
+        JsonCodec codec = new JsonCodec(new ObjectMapper());
+        JsonNodeComparator comparator = new JsonNodeComparator(true);
+        JsonNode expected = new ObjectMapper().readTree("{\"a\":2}");
+
+        assertNull(codec.compareJson(comparator, expected, "{\"a\": 2}", "output"));
+        assertEquals("/a: expected 2 but was 1",
+                codec.compareJson(comparator, expected, "{\"a\":1}", "output"));
+
+        // The last of the same field wins just as it does when parsing the tree
+        assertNull(codec.compareJson(comparator, expected, "{\"a\":1,\"a\":2}", "output"));
+        assertEquals("/a: expected 2 but was 1",
+                codec.compareJson(comparator, expected, "{\"a\":2,\"a\":1}", "output"));
+
+        JsonParamError exception = assertThrows(JsonParamError.class,
+                () -> codec.compareJson(comparator, expected, "{\"a\":2,", "output"));
+        assertEquals("The 'output' JSON String could not be decoded to JsonNode.",
+                exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.compareJson(comparator, expected, null, "output"));
+    }
+
+    @Test
+    public void frozenTest() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder().mapper(mapper).build();
+        JsonCodec codec = config.getCodec();
+
+        // Changes to the mapper after the config is first used are not seen
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        assertSame(codec, config.getCodec());
+        assertEquals("{\"a\":1}",
+                codec.getWriter().writeValueAsString(mapper.readTree("{\"a\":1}")));
+    }
+}
@@ -11,12 +11,14 @@ package com.unitvectory.jsonparamunit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import org.junit.jupiter.api.Test;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
@@ -28,15 +30,15 @@ public class JsonConverterTest {
 
     @Test
     public void jsonNodeToStringFailTest() throws Exception {
-        ObjectMapper mockedMapper = spy(ObjectMapper.class);
+        ObjectWriter mockedWriter = mock(ObjectWriter.class);
 
-        when(mockedMapper.writeValueAsString(any(ObjectNode.class)))
+        when(mockedWriter.writeValueAsString(any(ObjectNode.class)))
                 .thenThrow(new JsonProcessingException("Test Exception") {});
 
-        JsonNode jsonNode = mockedMapper.createObjectNode();
+        JsonNode jsonNode = new ObjectMapper().createObjectNode();
 
         JsonParamError thrown = assertThrows(JsonParamError.class,
-                () -> JsonConverter.jsonNodeToString(mockedMapper, jsonNode, "test"));
+                () -> JsonConverter.jsonNodeToString(mockedWriter, jsonNode, "test"));
 
         assertEquals("The 'test' JSON Object could not be encoded as a String.",
                 thrown.getMessage());
@@ -44,13 +46,13 @@ public class JsonConverterTest {
 
     @Test
     public void stringToJsonNodeFailTest() throws Exception {
-        ObjectMapper mockedMapper = new ObjectMapper();
+        ObjectReader reader = new ObjectMapper().reader();
 
         // Intentionally Invalid JSON
         String jsonString = "{{{";
 
         JsonParamError thrown = assertThrows(JsonParamError.class,
-                () -> JsonConverter.stringToJsonNode(mockedMapper, jsonString, "test"));
+                () -> JsonConverter.stringToJsonNode(reader, jsonString, "test"));
 
         assertEquals("The 'test' JSON String could not be decoded to JsonNode.",
                 thrown.getMessage());
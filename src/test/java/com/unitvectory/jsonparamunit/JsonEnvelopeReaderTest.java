@@ -0,0 +1,252 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Test the JsonEnvelopeReader class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonEnvelopeReaderTest {
+
+    private static final ObjectReader READER = new ObjectMapper().reader();
+
+    private static Iterator<JsonParamCase> readAll(String json) throws IOException {
+        return JsonEnvelopeReader.read(READER,
+                ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)), "file.json");
+    }
+
+    private static JsonParamCase read(String json) throws IOException {
+        return readAll(json).next();
+    }
+
+    private static JsonParamError error(String json) throws IOException {
+        JsonParamCase testCase = read(json);
+        assertNull(testCase.getInput());
+        return testCase.getError();
+    }
+
+    @Test
+    public void unknownFieldsSkippedTest() throws Exception {
+        JsonParamCase testCase = read("{\"description\":\"x\",\"sample\":{\"a\":[1,{\"b\":3}]},"
+                + "\"input\":{\"a\":1},\"context\":\"c\",\"output\":{\"b\":[1, 2]},\"extra\":[1]}");
+
+        assertEquals("{\"a\":1}", testCase.getInput().getNode().toString());
+        assertEquals("c", testCase.getContext());
+        assertEquals("{\"b\":[1,2]}", testCase.getOutput().getNode().toString());
+    }
+
+    @Test
+    public void outputFirstTest() throws Exception {
+        JsonParamCase testCase = read("{\"output\":[1,{\"a\":2}],\"input\":{}}");
+
+        assertEquals("{}", testCase.getInput().getNode().toString());
+        assertNull(testCase.getContext());
+        assertEquals("[1,{\"a\":2}]", testCase.getOutput().getNode().toString());
+    }
+
+    @Test
+    public void performanceTest() throws Exception {
+        assertNull(read("{\"input\":{},\"output\":{}}").getBudget());
+        assertEquals(5, read("{\"input\":{},\"performance\":{\"iterations\":5},\"output\":{}}")
+                .getBudget().getIterations());
+
+        // An invalid budget fails only its own test case
+        Iterator<JsonParamCase> testCases = readAll("[{\"input\":{},\"performance\":[],"
+                + "\"output\":{}},{\"input\":{},\"output\":{}}]");
+        assertEquals("The 'performance' field must be a JSON Object.",
+                testCases.next().getError().getMessage());
+        assertNull(testCases.next().getError());
+    }
+
+    @Test
+    public void envelopeTest() throws Exception {
+        Iterator<JsonParamCase> testCases =
+                readAll("[ {\"input\":{}, \"output\":{}} ,{\"input\":{},\"output\":[]}]");
+
+        assertEquals("{\"input\":{}, \"output\":{}}", text(testCases.next().getEnvelope()));
+        assertEquals("{\"input\":{},\"output\":[]}", text(testCases.next().getEnvelope()));
+    }
+
+    private static String text(ByteBuffer envelope) {
+        return StandardCharsets.UTF_8.decode(envelope.duplicate()).toString();
+    }
+
+    @Test
+    public void offsetContentTest() throws Exception {
+        byte[] bytes = "[1]{\"input\":{},\"output\":{\"a\":1}}".getBytes(StandardCharsets.UTF_8);
+        JsonParamCase testCase = JsonEnvelopeReader
+                .read(READER, ByteBuffer.wrap(bytes, 3, bytes.length - 3), "file.json").next();
+
+        assertEquals("{\"a\":1}", testCase.getOutput().getNode().toString());
+    }
+
+    @Test
+    public void scalarValuesTest() throws Exception {
+        JsonParamCase testCase = read("{\"input\":null,\"context\":null,\"output\":\"text\"}");
+
+        assertTrue(testCase.getInput().getNode().isNull());
+        assertEquals("null", testCase.getContext());
+        assertEquals("\"text\"", testCase.getOutput().getNode().toString());
+    }
+
+    @Test
+    public void notObjectTest() throws Exception {
+        assertEquals("The 'input' JSON Object is missing from the test file.",
+                error("1").getMessage());
+        assertEquals("The 'input' JSON Object is missing from the test file.",
+                error("[[1,2]]").getMessage());
+    }
+
+    @Test
+    public void emptyTest() throws Exception {
+        Iterator<JsonParamCase> testCases = readAll("");
+        assertTrue(testCases.hasNext());
+        assertEquals("The 'input' JSON Object is missing from the test file.",
+                testCases.next().getError().getMessage());
+        assertFalse(testCases.hasNext());
+    }
+
+    @Test
+    public void noOutputTest() throws Exception {
+        assertEquals("The 'output' JSON Object is missing from the test file.",
+                error("{\"input\":{}}").getMessage());
+    }
+
+    @Test
+    public void invalidTest() throws Exception {
+        assertThrows(IOException.class, () -> readAll("[x"));
+        assertEquals("Failed to parse the JSON from the test file.",
+                error("{\"input\":").getMessage());
+    }
+
+    @Test
+    public void arrayTest() throws Exception {
+        Iterator<JsonParamCase> testCases = readAll(
+                "[{\"input\":{\"a\":0},\"output\":{}}, {\"input\":{\"a\":1},\"output\":{}}]");
+
+        assertEquals(0, testCases.next().getInput().getNode().get("a").intValue());
+        JsonParamCase testCase = testCases.next();
+        assertEquals(1, testCase.getIndex());
+        assertEquals(1, testCase.getInput().getNode().get("a").intValue());
+        assertFalse(testCases.hasNext());
+
+        assertFalse(readAll("[]").hasNext());
+    }
+
+    @Test
+    public void newlineDelimitedTest() throws Exception {
+        Iterator<JsonParamCase> testCases = readAll("{\"input\":{\"a\":0},\"output\":{}}\n"
+                + "{\"output\":{}}\n{\"input\":{\"a\":2},\"output\":{}}\n");
+
+        assertEquals(0, testCases.next().getInput().getNode().get("a").intValue());
+        assertEquals("The 'input' JSON Object is missing from the test file.",
+                testCases.next().getError().getMessage());
+        JsonParamCase testCase = testCases.next();
+        assertEquals(2, testCase.getIndex());
+        assertEquals(2, testCase.getInput().getNode().get("a").intValue());
+        assertFalse(testCases.hasNext());
+    }
+
+    @Test
+    public void invalidLaterCaseTest() throws Exception {
+        Iterator<JsonParamCase> testCases =
+                readAll("[{\"input\":{},\"output\":{}},{\"input\":{}},{\"input\"");
+
+        assertNull(testCases.next().getError());
+        assertEquals("The 'output' JSON Object is missing from the test file.",
+                testCases.next().getError().getMessage());
+        assertTrue(testCases.hasNext());
+        assertEquals("Failed to parse the JSON from the test file.",
+                testCases.next().getError().getMessage());
+        assertFalse(testCases.hasNext());
+    }
+
+    @Test
+    public void trailingContentTest() throws Exception {
+        // Content after a test case is read as the next test case rather than ignored
+        JsonParamCase testCase = read("{\"input\":{},\"output\":{}} }");
+        assertEquals("file.json", testCase.getName());
+        assertEquals("Failed to parse the JSON from the test file.",
+                testCase.getError().getMessage());
+
+        Iterator<JsonParamCase> testCases = readAll("{\"input\":{},\"output\":{}}\n1");
+        assertEquals("file.json[0]", testCases.next().getName());
+        testCase = testCases.next();
+        assertEquals("file.json[1]", testCase.getName());
+        assertEquals("The 'input' JSON Object is missing from the test file.",
+                testCase.getError().getMessage());
+        assertFalse(testCases.hasNext());
+    }
+
+    @Test
+    public void deferredOutputInvalidTest() throws Exception {
+        // Skipping the output does not build the tree so the duplicate key is found later
+        ObjectMapper mapper =
+                new ObjectMapper().enable(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY);
+        JsonParamCase testCase = JsonEnvelopeReader.read(mapper.reader(), ByteBuffer.wrap(
+                "{\"input\":{},\"output\":{\"a\":1,\"a\":2}}".getBytes(StandardCharsets.UTF_8)),
+                "file.json").next();
+
+        JsonParamError exception =
+                assertThrows(JsonParamError.class, () -> testCase.getOutput().getNode());
+        assertEquals("Failed to parse the JSON from the test file.", exception.getMessage());
+
+        // The error is remembered rather than parsing again
+        assertSame(exception, assertThrows(JsonParamError.class,
+                () -> testCase.getOutput().getNode()));
+    }
+
+    @Test
+    public void deferredInputTest() throws Exception {
+        JsonSlice input = read("{\"input\":{\"a\":1},\"output\":{}}").getInput();
+
+        // A copy shares the bytes but is parsed into its own JsonNode
+        JsonSlice copy = input.copy();
+        assertEquals(input.getNode(), copy.getNode());
+        assertNotSame(input.getNode(), copy.getNode());
+    }
+
+    @Test
+    public void outputParsedOnceTest() throws Exception {
+        JsonSlice output = read("{\"input\":{},\"output\":{}}").getOutput();
+        assertSame(output.getNode(), output.getNode());
+    }
+
+    @Test
+    public void nameTest() throws Exception {
+        assertEquals("file.json", read("{\"input\":{},\"output\":{}}").getName());
+        assertEquals("file.json", read("").toString());
+
+        Iterator<JsonParamCase> testCases =
+                readAll("{\"input\":{},\"output\":{}}\n{\"output\":{}}\n{\"input\"");
+        assertEquals("file.json[0]", testCases.next().getName());
+        assertEquals("file.json[1]", testCases.next().getName());
+        assertEquals("file.json[2]", testCases.next().getName());
+
+        assertEquals("file.json[0]", read("[{\"input\":{},\"output\":{}}]").getName());
+        assertEquals("file.json[0]", read("[{\"input\"").getName());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.unitvectory.jsonparamunit.example.InClass;
+import com.unitvectory.fileparamunit.ListFileSource;
+
+/**
+ * Test the JsonFileLoader class along with running test cases from memory mapped files.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonFileLoaderTest extends JsonNodeParamUnit {
+
+    private static final ObjectReader READER = new ObjectMapper().reader();
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates a new instance of the JsonFileLoaderTest.
+     */
+    public JsonFileLoaderTest() {
+        super(JsonParamUnitConfig.builder().fileLoadStrategy(FileLoadStrategy.MEMORY_MAPPED)
+                .build());
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/files", fileExtension = ".json", recurse = true)
+    public void memoryMappedTest(String file) {
+        run(file);
+    }
+
+    @Test
+    public void readBytesTest() throws Exception {
+        ByteBuffer content = load(FileLoadStrategy.READ_BYTES, Long.MAX_VALUE);
+        assertTrue(content.hasArray());
+        assertEquals("{\"a\":1}", JsonFileLoader.readTree(READER, content).toString());
+    }
+
+    @Test
+    public void memoryMappedLoadTest() throws Exception {
+        ByteBuffer content = load(FileLoadStrategy.MEMORY_MAPPED, Long.MAX_VALUE);
+        assertFalse(content.hasArray());
+        assertEquals("{\"a\":1}", JsonFileLoader.readTree(READER, content).toString());
+    }
+
+    @Test
+    public void autoTest() throws Exception {
+        assertTrue(load(FileLoadStrategy.AUTO, Long.MAX_VALUE).hasArray());
+        assertFalse(load(FileLoadStrategy.AUTO, 7).hasArray());
+        assertFalse(load(FileLoadStrategy.AUTO, 1).hasArray());
+    }
+
+    @Test
+    public void tooLargeTest() throws Exception {
+        // A sparse file just over the limit takes no space on disk
+        Path file = this.tempDir.resolve("large.json");
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(JsonFileLoader.MAX_FILE_SIZE + 1);
+        }
+
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> run(file.toString()));
+        assertEquals("The test file is larger than the 2GB limit.", exception.getMessage());
+    }
+
+    @Test
+    public void readTreeOffsetTest() throws Exception {
+        byte[] bytes = "xx{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer content = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+        assertEquals("{\"a\":1}", JsonFileLoader.readTree(READER, content).toString());
+    }
+
+    @Test
+    public void readValueTest() throws Exception {
+        ObjectReader reader = READER.forType(InClass.class);
+        byte[] bytes = "xx{\"foo\":1}".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer content = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+        assertEquals(1, JsonFileLoader.<InClass>readValue(reader, content).getFoo());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.remaining()).put(content).flip();
+        assertEquals(1, JsonFileLoader.<InClass>readValue(reader, direct).getFoo());
+    }
+
+    @Override
+    public JsonNode process(JsonNode input, String context) {
+        ObjectNode node = this.getConfig().getMapper().createObjectNode();
+        node.put("success", input.get("foo").intValue() == 1);
+        return node;
+    }
+
+    private ByteBuffer load(FileLoadStrategy strategy, long threshold) throws Exception {
+        Path file = Files.writeString(this.tempDir.resolve("a.json"), "{\"a\":1}");
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder().fileLoadStrategy(strategy)
+                .memoryMapThreshold(threshold).build();
+        return JsonFileLoader.load(file, Files.size(file), config);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Test JsonNodeComparator class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonNodeComparatorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final JsonNodeComparator STRICT = new JsonNodeComparator(true);
+
+    private static final JsonNodeComparator LENIENT = new JsonNodeComparator(false);
+
+    private static final ObjectReader READER = MAPPER.reader();
+
+    private static JsonNode json(String json) throws Exception {
+        return MAPPER.readTree(json);
+    }
+
+    private static TokenBuffer tokens(String json) throws Exception {
+        TokenBuffer tokens = new TokenBuffer(MAPPER, false);
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            parser.nextToken();
+            tokens.copyCurrentStructure(parser);
+        }
+        return tokens;
+    }
+
+    private static void assertTokensMatchTree(String expected, String actual) throws Exception {
+        for (JsonNodeComparator comparator : new JsonNodeComparator[] {STRICT, LENIENT}) {
+            assertEquals(comparator.compare(json(expected), json(actual)),
+                    comparator.compare(json(expected), tokens(actual), READER));
+        }
+    }
+
+    @Test
+    public void equalTest() throws Exception {
+        String json = "{\"a\":1,\"b\":[true,null,\"x\"],\"c\":{\"d\":1.5}}";
+        assertNull(STRICT.compare(json(json), json(json)));
+        assertNull(LENIENT.compare(json(json), json(json)));
+    }
+
+    @Test
+    public void nullActualTest() throws Exception {
+        assertNull(STRICT.compare(json("null"), null));
+        assertEquals("(root): expected an object but was null", STRICT.compare(json("{}"), null));
+    }
+
+    @Test
+    public void typeMismatchTest() throws Exception {
+        assertEquals("(root): expected an object but was an array",
+                STRICT.compare(json("{}"), json("[]")));
+        assertEquals("(root): expected an array but was an object",
+                STRICT.compare(json("[]"), json("{}")));
+        assertEquals("(root): expected 1 but was \"1\"", STRICT.compare(json("1"), json("\"1\"")));
+        assertEquals("(root): expected \"1\" but was 1", STRICT.compare(json("\"1\""), json("1")));
+        assertEquals("(root): expected true but was false",
+                STRICT.compare(json("true"), json("false")));
+    }
+
+    @Test
+    public void numberTest() throws Exception {
+        JsonNodeFactory factory = JsonNodeFactory.instance;
+        BigInteger big = new BigInteger("123456789012345678901234567890");
+
+        assertNull(STRICT.compare(factory.numberNode(1), factory.numberNode(1L)));
+        assertNull(STRICT.compare(json("1"), json("1.0")));
+        assertNull(STRICT.compare(json("1.0"), json("1")));
+        assertNull(STRICT.compare(factory.numberNode(big), factory.numberNode(big)));
+        assertEquals("(root): expected 2 but was 1", STRICT.compare(json("2"), json("1")));
+        assertEquals("(root): expected 1 but was 123456789012345678901234567890",
+                STRICT.compare(json("1"), factory.numberNode(big)));
+        assertEquals("(root): expected 123456789012345678901234567890 but was 1",
+                STRICT.compare(factory.numberNode(big), json("1")));
+        assertEquals("(root): expected 1.5 but was 2", STRICT.compare(json("1.5"), json("2")));
+    }
+
+    @Test
+    public void objectTest() throws Exception {
+        assertEquals("/b: expected 1 but none found",
+                STRICT.compare(json("{\"a\":1,\"b\":1}"), json("{\"a\":1}")));
+        assertEquals("/a/b: expected 1 but was 2",
+                STRICT.compare(json("{\"a\":{\"b\":1}}"), json("{\"a\":{\"b\":2}}")));
+        assertEquals("/b: unexpected an object",
+                STRICT.compare(json("{\"a\":1}"), json("{\"a\":1,\"b\":{}}")));
+        assertNull(LENIENT.compare(json("{\"a\":1}"), json("{\"a\":1,\"b\":{}}")));
+        assertNull(STRICT.compare(json("{\"a\":1,\"b\":2}"), json("{\"b\":2,\"a\":1}")));
+    }
+
+    @Test
+    public void escapedPathTest() throws Exception {
+        assertEquals("/a~1b/c~0d: expected 1 but was 2",
+                STRICT.compare(json("{\"a/b\":{\"c~d\":1}}"), json("{\"a/b\":{\"c~d\":2}}")));
+    }
+
+    @Test
+    public void arrayTest() throws Exception {
+        assertEquals("/a: expected an array of 2 elements but was an array of 1 elements",
+                STRICT.compare(json("{\"a\":[1,2]}"), json("{\"a\":[1]}")));
+        assertEquals("/0: expected 1 but was 2\n/1: expected 2 but was 1",
+                STRICT.compare(json("[1,2]"), json("[2,1]")));
+        assertNull(LENIENT.compare(json("[1,2]"), json("[2,1]")));
+        assertNull(LENIENT.compare(json("[{\"a\":1},{\"a\":2}]"),
+                json("[{\"a\":2,\"b\":0},{\"a\":1}]")));
+        assertEquals("/1: expected 1 but no matching element found",
+                LENIENT.compare(json("[2,1]"), json("[2,2]")));
+        assertEquals("/0: expected an array but no matching element found",
+                LENIENT.compare(json("[[1]]"), json("[[2]]")));
+        assertNull(LENIENT.compare(json("[]"), json("[]")));
+    }
+
+    @Test
+    public void limitTest() throws Exception {
+        JsonNodeComparator strict = new JsonNodeComparator(true, 2, 200);
+        JsonNodeComparator lenient = new JsonNodeComparator(false, 2, 200);
+
+        // Exactly the maximum differences are all reported
+        assertEquals("/a: expected 1 but was 2\n/b: expected 1 but was 2",
+                strict.compare(json("{\"a\":1,\"b\":1}"), json("{\"a\":2,\"b\":2}")));
+
+        // The walk stops once there are more
+        String more = "\n(only the first 2 differences are reported)";
+        assertEquals("/0: expected 1 but was 2\n/1: expected 2 but was 3" + more,
+                strict.compare(json("[1,2,3,4]"), json("[2,3,4,5]")));
+        assertEquals("/a/0: expected 1 but was 2\n/a/1: expected 1 but was 2" + more,
+                strict.compare(json("{\"a\":[1,1,1],\"b\":1,\"c\":1}"),
+                        json("{\"a\":[2,2,2],\"b\":2,\"d\":1}")));
+        assertEquals("/a: expected 1 but was 2\n/c: unexpected 1" + more,
+                strict.compare(json("{\"a\":1}"), json("{\"a\":2,\"c\":1,\"d\":1}")));
+        assertEquals("/0: expected 1 but no matching element found\n"
+                + "/1: expected 2 but no matching element found" + more,
+                lenient.compare(json("[1,2,3,4]"), json("[5,6,7,8]")));
+
+        // At least one difference is always reported
+        assertEquals("/a: expected 1 but was 2\n(only the first 1 differences are reported)",
+                new JsonNodeComparator(true, 0, 200).compare(json("{\"a\":1,\"b\":1}"),
+                        json("{\"a\":2,\"b\":2}")));
+    }
+
+    @Test
+    public void snippetTest() throws Exception {
+        JsonNodeComparator comparator = new JsonNodeComparator(true, 10, 5);
+        BigInteger big = new BigInteger("123456789012345678901234567890");
+
+        assertEquals("(root): expected \"abcde\"... but was \"abc\"",
+                comparator.compare(json("\"abcdefghij\""), json("\"abc\"")));
+        assertEquals("(root): expected \"abcde\" but was 1",
+                comparator.compare(json("\"abcde\""), json("1")));
+        assertEquals("(root): expected 12345... but was 1",
+                comparator.compare(JsonNodeFactory.instance.numberNode(big), json("1")));
+    }
+
+    @Test
+    public void tokensTest() throws Exception {
+        assertTokensMatchTree("{\"a\":1,\"b\":[true,null,\"x\"],\"c\":{\"d\":1.5}}",
+                "{\"c\":{\"d\":1.5},\"b\":[true,null,\"x\"],\"a\":1}");
+        assertTokensMatchTree("{\"a\":1,\"b\":1}", "{\"a\":1}");
+        assertTokensMatchTree("{\"a\":{\"b\":1}}", "{\"a\":{\"b\":2}}");
+        assertTokensMatchTree("{\"a\":1}", "{\"b\":{\"c\":[1]},\"a\":1}");
+        assertTokensMatchTree("{\"a\":1}", "[1]");
+        assertTokensMatchTree("[1]", "{\"a\":1}");
+        assertTokensMatchTree("[1,2]", "[2,1]");
+        assertTokensMatchTree("[1,2]", "[1]");
+        assertTokensMatchTree("[1]", "[1,2]");
+        assertTokensMatchTree("[[1],{\"a\":[2]}]", "[[1],{\"a\":[2]}]");
+        assertTokensMatchTree("1", "1.0");
+        assertTokensMatchTree("\"1\"", "1");
+        assertTokensMatchTree("null", "null");
+    }
+
+    @Test
+    public void tokensTruncatedTest() throws Exception {
+        // Events that do not form a complete value never match, if they cannot be read into a tree
+        // to describe the difference the failure is reported
+        TokenBuffer object = new TokenBuffer(MAPPER, false);
+        object.writeStartObject();
+        TokenBuffer array = new TokenBuffer(MAPPER, false);
+        array.writeStartArray();
+
+        assertNotNull(STRICT.compare(json("{\"a\":1}"), object, READER));
+        assertThrows(IOException.class, () -> STRICT.compare(json("[1]"), array, READER));
+    }
+}
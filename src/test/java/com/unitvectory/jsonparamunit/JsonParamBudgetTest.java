@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test the JsonParamBudget class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamBudgetTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static JsonParamBudget parse(String json) throws Exception {
+        return JsonParamBudget.parse(MAPPER.readTree(json));
+    }
+
+    private static String invalid(String json) {
+        return assertThrows(JsonParamError.class, () -> parse(json)).getMessage();
+    }
+
+    @Test
+    public void defaultsTest() throws Exception {
+        JsonParamBudget budget = parse("{}");
+        assertEquals(JsonParamBudget.DEFAULT_WARMUP_ITERATIONS, budget.getWarmupIterations());
+        assertEquals(JsonParamBudget.DEFAULT_ITERATIONS, budget.getIterations());
+        assertEquals(-1, budget.getMaxP50Nanos());
+        assertEquals(-1, budget.getMaxP99Nanos());
+        assertEquals(-1, budget.getMaxAllocatedBytes());
+    }
+
+    @Test
+    public void parseTest() throws Exception {
+        JsonParamBudget budget = parse("{\"warmupIterations\":0,\"iterations\":5,"
+                + "\"maxP50Micros\":1.5,\"maxP99Micros\":20,\"maxAllocatedBytes\":4096}");
+        assertEquals(0, budget.getWarmupIterations());
+        assertEquals(5, budget.getIterations());
+        assertEquals(1500, budget.getMaxP50Nanos());
+        assertEquals(20000, budget.getMaxP99Nanos());
+        assertEquals(4096, budget.getMaxAllocatedBytes());
+    }
+
+    @Test
+    public void invalidTest() {
+        assertEquals("The 'performance' field must be a JSON Object.", invalid("[]"));
+        assertEquals("The 'performance' JSON Object contains the unknown field 'maxP90Micros'.",
+                invalid("{\"maxP90Micros\":1}"));
+
+        String warmup =
+                "The 'performance' field 'warmupIterations' must be an integer of at least 0.";
+        assertEquals(warmup, invalid("{\"warmupIterations\":-1}"));
+        assertEquals(warmup, invalid("{\"warmupIterations\":1.5}"));
+        assertEquals(warmup, invalid("{\"warmupIterations\":3000000000}"));
+        assertEquals("The 'performance' field 'iterations' must be an integer of at least 1.",
+                invalid("{\"iterations\":0}"));
+
+        String allocated =
+                "The 'performance' field 'maxAllocatedBytes' must be an integer of at least 0.";
+        assertEquals(allocated, invalid("{\"maxAllocatedBytes\":-1}"));
+        assertEquals(allocated, invalid("{\"maxAllocatedBytes\":100000000000000000000}"));
+
+        String max = "The 'performance' field 'maxP99Micros' must be a number of at least 0.";
+        assertEquals(max, invalid("{\"maxP99Micros\":-1}"));
+        assertEquals(max, invalid("{\"maxP99Micros\":\"1\"}"));
+        assertEquals("The 'performance' field 'maxP50Micros' must be a number of at least 0.",
+                invalid("{\"maxP50Micros\":null}"));
+    }
+
+    @Test
+    public void withinTest() {
+        AtomicInteger calls = new AtomicInteger();
+        new JsonParamBudget(2, 100, 1000, 2000, -1).assertWithin(meter -> {
+            calls.incrementAndGet();
+            return 500;
+        });
+
+        // The warmup iterations are not measured but process is still called
+        assertEquals(102, calls.get());
+    }
+
+    @Test
+    public void exceededTest() {
+        JsonParamError error = assertThrows(JsonParamError.class,
+                () -> new JsonParamBudget(0, 100, 1000, 2000, -1).assertWithin(meter -> 1500));
+        assertEquals("The test case exceeded its latency budget over 100 iterations.\n"
+                + "p50: 1.500us (max 1.000us)\np99: 1.500us (max 2.000us)", error.getMessage());
+
+        error = assertThrows(JsonParamError.class,
+                () -> new JsonParamBudget(0, 1, -1, 5, -1).assertWithin(meter -> 10));
+        assertEquals("The test case exceeded its latency budget over 1 iterations.\n"
+                + "p50: 0.010us (no limit)\np99: 0.010us (max 0.005us)", error.getMessage());
+    }
+
+    @Test
+    public void unmeasuredTest() {
+        // Without a limit only the warmup iterations are run
+        AtomicInteger calls = new AtomicInteger();
+        new JsonParamBudget(3, 100, -1, -1, -1).assertWithin(meter -> calls.incrementAndGet());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void allocationTest() {
+        AtomicInteger calls = new AtomicInteger();
+        new JsonParamBudget(1, 10, -1, -1, 100).assertWithin(meter -> {
+            calls.incrementAndGet();
+            return 100;
+        }, () -> 0);
+        assertEquals(11, calls.get());
+
+        // The largest allocation of any call is reported
+        AtomicInteger allocations = new AtomicInteger();
+        JsonParamError error = assertThrows(JsonParamError.class,
+                () -> new JsonParamBudget(0, 10, -1, -1, 100)
+                        .assertWithin(meter -> allocations.incrementAndGet() == 5 ? 101 : 0));
+        assertEquals("The test case exceeded its allocation budget over 10 iterations.\n"
+                + "allocated: 101 bytes (max 100 bytes)", error.getMessage());
+    }
+
+    @Test
+    public void bothExceededTest() {
+        JsonParamError error = assertThrows(JsonParamError.class,
+                () -> new JsonParamBudget(0, 1, 1, -1, 0).assertWithin(meter -> 2000, () -> 0));
+        assertEquals("The test case exceeded its latency budget over 1 iterations.\n"
+                + "p50: 2.000us (max 0.001us)\np99: 2.000us (no limit)\n"
+                + "The test case exceeded its allocation budget over 1 iterations.\n"
+                + "allocated: 2000 bytes (max 0 bytes)", error.getMessage());
+    }
+
+    @Test
+    public void allocationUnsupportedTest() {
+        JsonParamError error = assertThrows(JsonParamError.class,
+                () -> new JsonParamBudget(0, 1, -1, -1, 0).assertWithin(meter -> 0, null));
+        assertEquals("The JVM does not support measuring the bytes allocated by a thread.",
+                error.getMessage());
+
+        // Latency alone is still measured
+        new JsonParamBudget(0, 1, -1, Long.MAX_VALUE, -1).assertWithin(meter -> 0, null);
+    }
+
+    @Test
+    public void allocationMeterTest() {
+        assertNotNull(JsonParamBudget.allocationMeter(ManagementFactory.getThreadMXBean()));
+        assertNull(JsonParamBudget.allocationMeter(threads(ThreadMXBean.class, true, true)));
+        assertNull(JsonParamBudget.allocationMeter(
+                threads(com.sun.management.ThreadMXBean.class, false, true)));
+        assertNull(JsonParamBudget.allocationMeter(
+                threads(com.sun.management.ThreadMXBean.class, true, false)));
+    }
+
+    @Test
+    public void meterTest() {
+        // The meter is the clock in nanoseconds
+        new JsonParamBudget(0, 1, -1, Long.MAX_VALUE, -1).assertWithin(meter -> {
+            long start = meter.getAsLong();
+            assertTrue(meter.getAsLong() >= start);
+            return 0;
+        });
+    }
+
+    private static ThreadMXBean threads(Class<? extends ThreadMXBean> type, boolean supported,
+            boolean enabled) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> "isThreadAllocatedMemorySupported"
+                        .equals(method.getName()) ? supported : enabled));
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unitvectory.jsonparamunit.example.InClass;
+import com.unitvectory.jsonparamunit.example.OutClass;
+
+/**
+ * Test the JsonParamBundle class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamBundleTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void namesTest() throws Exception {
+        Path bundle = this.tempDir.resolve("failures.jpub");
+        assertEquals(7, JsonParamBundle.write(resource("/failures"), ".json", true, bundle));
+
+        JsonParamBundle opened = JsonParamBundle.open(bundle, resource("/failures"));
+        assertEquals(List.of("badjson/file.json", "badstart/file.json", "emptyarray/file.json",
+                "mismatch/file.json", "multi/file.json", "noinput/file.json",
+                "nooutput/file.json"), opened.getNames());
+        assertTrue(opened.contains("multi/file.json"));
+        assertFalse(opened.contains("file.json"));
+    }
+
+    @Test
+    public void findTest() throws Exception {
+        Path directory = Files.createDirectories(this.tempDir.resolve("files/multi"));
+        Path file = Files.writeString(directory.resolve("file.json"), "{}");
+        Path other = Files.createDirectories(this.tempDir.resolve("data/other"));
+        Files.writeString(other.resolve("file.json"), "{}");
+        Path bundle = this.tempDir.resolve("files.jpub");
+        JsonParamBundle.write(this.tempDir.resolve("files"), ".json", true, bundle);
+        JsonParamBundle opened = JsonParamBundle.open(bundle, this.tempDir.resolve("files"));
+
+        // Only the exact path relative to the directory the bundle was written from
+        assertEquals("multi/file.json", find(opened, file));
+        assertEquals("multi/file.json", find(opened, directory.resolve("../multi/file.json")));
+        assertNull(find(opened, other.resolve("file.json")));
+        assertNull(find(opened, Files.copy(file, this.tempDir.resolve("files/file.json"))));
+        assertNull(find(opened, Files.copy(file,
+                Files.createDirectories(this.tempDir.resolve("multi")).resolve("file.json"))));
+
+        // A test file changed since the bundle was written is read from the file
+        Files.writeString(file, "{ }");
+        assertNull(find(opened, file));
+        Files.writeString(file, "{}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        assertNull(find(opened, file));
+    }
+
+    @Test
+    public void decimalTest() throws Exception {
+        write("decimal.json", "{\"input\":{},\"output\":[0.5,0.1000000000000000000001]}\n"
+                + "{\"input\":{},\"output\":0.25}");
+        write("infinite.json", "{\"input\":{},\"output\":[0.5,1e400]}");
+        Path bundle = this.tempDir.resolve("decimal.jpub");
+        JsonParamBundle.write(this.tempDir, ".json", false, bundle);
+        JsonParamBundle opened = JsonParamBundle.open(bundle, this.tempDir);
+
+        // The decimals are read exactly as they were written
+        ObjectMapper mapper = new ObjectMapper()
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder().mapper(mapper).build();
+        Iterator<JsonParamCase> cases = opened.load("decimal.json", "decimal.json", config);
+        assertEquals("[0.5,0.1000000000000000000001]",
+                cases.next().getOutput().getNode().toString());
+        assertEquals("0.25", cases.next().getOutput().getNode().toString());
+        assertEquals("[0.5,1E+400]", opened.load("infinite.json", "infinite.json", config).next()
+                .getOutput().getNode().toString());
+    }
+
+    @Test
+    public void staleTest() throws Exception {
+        Path file = write("stale.json", "{\"input\":{\"a\":1},\"output\":{\"a\":1}}");
+        Path bundle = this.tempDir.resolve("stale.jpub");
+        JsonParamBundle.write(this.tempDir, ".json", false, bundle);
+
+        // The bundle still holds the passing test case but the changed test file is run
+        write("stale.json", "{\"input\":{\"a\":1},\"output\":{\"a\":22}}");
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder()
+                .bundle(JsonParamBundle.open(bundle, this.tempDir)).build();
+        assertEquals("The actual output does not match the expected output.\n"
+                + "/a: expected 22 but was 1", failure(config, file));
+    }
+
+    @Test
+    public void failuresTest() throws Exception {
+        // Every test file fails exactly as it does when it is read from the test file
+        Path directory = resource("/failures");
+        Path bundle = this.tempDir.resolve("failures.jpub");
+        JsonParamBundle.write(directory, ".json", true, bundle);
+
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder().build();
+        JsonParamUnitConfig bundled = JsonParamUnitConfig.builder()
+                .bundle(JsonParamBundle.open(bundle, directory)).build();
+        for (Path file : files(directory)) {
+            assertNotNull(find(bundled.getBundle(), file));
+            assertEquals(failure(config, file), failure(bundled, file));
+        }
+    }
+
+    @Test
+    public void multiTest() throws Exception {
+        Path bundle = this.tempDir.resolve("multi.jpub");
+        assertEquals(2, JsonParamBundle.write(resource("/multi"), "", false, bundle));
+
+        JsonParamSourceTest sum = new JsonParamSourceTest();
+        JsonNodeParamUnit unit = new JsonNodeParamUnit(JsonParamUnitConfig.builder()
+                .bundle(JsonParamBundle.open(bundle, resource("/multi"))).build()) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return sum.process(input, context);
+            }
+        };
+
+        for (Path file : files(resource("/multi"))) {
+            unit.run(file.toString());
+        }
+    }
+
+    @Test
+    public void notInBundleTest() throws Exception {
+        // Test files missing from the bundle are read from the test file
+        Path bundle = this.tempDir.resolve("empty.jpub");
+        assertEquals(0, JsonParamBundle.write(resource("/multi"), ".txt", false, bundle));
+
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder()
+                .bundle(JsonParamBundle.open(bundle, resource("/failures"))).build();
+        Path file = resource("/failures").resolve("mismatch/file.json");
+        assertNull(find(config.getBundle(), file));
+        assertEquals(failure(JsonParamUnitConfig.builder().build(), file), failure(config, file));
+    }
+
+    @Test
+    public void classTest() throws Exception {
+        Path bundle = this.tempDir.resolve("files.jpub");
+        JsonParamBundle.write(resource("/files"), ".json", false, bundle);
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder()
+                .bundle(JsonParamBundle.open(bundle, resource("/files"))).build();
+
+        JsonClassParamUnit<InClass, OutClass> unit =
+                new JsonClassParamUnit<InClass, OutClass>(InClass.class, config) {
+
+                    @Override
+                    protected OutClass process(InClass input, String context) {
+                        return OutClass.builder().success(input.getFoo() == 1).build();
+                    }
+                };
+
+        for (Path file : files(resource("/files"))) {
+            unit.run(file.toString());
+        }
+    }
+
+    @Test
+    public void rawStringTest() throws Exception {
+        // The input is not stored as text so it is passed re-encoded as compact JSON
+        Path file = write("raw.json", "{\"input\":{\"b\": 2,  \"a\": [1, 2]},"
+                + "\"output\":{\"raw\":\"{\\\"b\\\":2,\\\"a\\\":[1,2]}\"}}");
+        Path bundle = this.tempDir.resolve("raw.jpub");
+        JsonParamBundle.write(this.tempDir, ".json", false, bundle);
+
+        JsonStringRawTest unit = new JsonStringRawTest();
+        JsonStringParamUnit bundled = new JsonStringParamUnit(JsonParamUnitConfig.builder()
+                .rawStringInput(true).bundle(JsonParamBundle.open(bundle, this.tempDir)).build()) {
+
+            @Override
+            protected String process(String input, String context) {
+                return unit.process(input, context);
+            }
+        };
+
+        bundled.run(file.toString());
+        assertThrows(JsonParamError.class, () -> unit.run(file.toString()));
+    }
+
+    @Test
+    public void streamTest() throws Exception {
+        Path file = write("stream.json", "{\"input\":{\"a\":[1,2.5,\"x\",true,null]},"
+                + "\"output\":{\"a\":[1,2.5,\"x\",true,null]}}");
+        Path bundle = this.tempDir.resolve("stream.jpub");
+        JsonParamBundle.write(this.tempDir, ".json", false, bundle);
+
+        JsonStreamParamUnit unit = new JsonStreamParamUnit(JsonParamUnitConfig.builder()
+                .bundle(JsonParamBundle.open(bundle, this.tempDir)).build()) {
+
+            @Override
+            protected void process(JsonParser input, JsonGenerator output, String context)
+                    throws IOException {
+                input.nextToken();
+                output.copyCurrentStructure(input);
+            }
+        };
+
+        unit.run(file.toString());
+    }
+
+    @Test
+    public void openNotExistTest() {
+        JsonParamError exception = assertThrows(JsonParamError.class,
+                () -> JsonParamBundle.open(this.tempDir.resolve("notexist.jpub"), this.tempDir));
+        assertEquals("Failed to read the bundle.", exception.getMessage());
+    }
+
+    @Test
+    public void openUnsupportedTest() throws Exception {
+        ByteBuffer header = ByteBuffer.allocate(12).putInt(0x4A505542).putInt(3).putInt(0);
+        for (byte[] content : new byte[][] {new byte[4], new byte[12], header.array()}) {
+            Path bundle = Files.write(this.tempDir.resolve("bad.jpub"), content);
+            JsonParamError exception =
+                    assertThrows(JsonParamError.class,
+                            () -> JsonParamBundle.open(bundle, this.tempDir));
+            assertEquals("The bundle is not a supported jsonparamunit bundle.",
+                    exception.getMessage());
+        }
+    }
+
+    @Test
+    public void openCorruptTest() throws Exception {
+        // A truncated index and an index that does not hold the entries
+        for (byte[] index : new byte[][] {{(byte) 0xA1}, {(byte) 0xA1, 0x61, 0x61, 0x01}}) {
+            ByteBuffer content = ByteBuffer.allocate(12 + index.length).putInt(0x4A505542)
+                    .putInt(2).putInt(index.length).put(index);
+            Path bundle = Files.write(this.tempDir.resolve("bad.jpub"), content.array());
+            JsonParamError exception =
+                    assertThrows(JsonParamError.class,
+                            () -> JsonParamBundle.open(bundle, this.tempDir));
+            assertEquals("Failed to read the bundle.", exception.getMessage());
+        }
+    }
+
+    private static String find(JsonParamBundle bundle, Path file) throws IOException {
+        return bundle.find(file, Files.readAttributes(file, BasicFileAttributes.class));
+    }
+
+    private static Path resource(String name) throws Exception {
+        return Path.of(JsonParamBundleTest.class.getResource(name).toURI());
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(this.tempDir.resolve(name), content);
+    }
+
+    private static String failure(JsonParamUnitConfig config, Path file) {
+        JsonNodeParamUnit unit = new JsonNodeParamUnit(config) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return input;
+            }
+        };
+
+        try {
+            unit.run(file.toString());
+            return null;
+        } catch (JsonParamError e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.unitvectory.fileparamunit.ListFileSource;
+
+/**
+ * Test the JsonParamCache class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamCacheTest extends JsonNodeParamUnit {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    /**
+     * Creates a new instance of the JsonParamCacheTest.
+     */
+    public JsonParamCacheTest() {
+        super(JsonParamUnitConfig.builder().cache(new JsonParamCache(16)).build());
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/files", fileExtension = ".json", recurse = true)
+    public void runTwiceTest(String file) {
+        run(file);
+        run(file);
+
+        assertEquals(1, this.getConfig().getCache().getMissCount());
+        assertEquals(1, this.getConfig().getCache().getHitCount());
+        assertEquals(1, this.getConfig().getCache().size());
+    }
+
+    @Test
+    public void failedCaseTest() throws Exception {
+        String file = write("bad.json", "[{\"input\":{\"foo\":1},\"output\":{\"success\":true}},"
+                + "{\"output\":{}}]").toString();
+
+        for (int i = 0; i < 2; i++) {
+            JsonParamError exception = assertThrows(JsonParamError.class, () -> run(file));
+            assertEquals("1 of 2 test cases in the test file failed.\n"
+                    + "Test case 1: The 'input' JSON Object is missing from the test file.",
+                    exception.getMessage());
+        }
+
+        assertEquals(1, this.getConfig().getCache().getHitCount());
+    }
+
+    @Test
+    public void sharedTest() {
+        assertSame(JsonParamCache.shared(), JsonParamCache.shared());
+    }
+
+    @Test
+    public void inputCopiedTest() throws Exception {
+        JsonParamCache cache = new JsonParamCache(16);
+        Path file = write("a.json", "{}");
+
+        JsonNode first = get(cache, file).getInput().getNode();
+        ((ObjectNode) first).put("modified", true);
+
+        assertEquals("{\"value\":\"{}\"}", get(cache, file).getInput().getNode().toString());
+        assertEquals(1, this.loads.get());
+    }
+
+    @Test
+    public void invalidatedTest() throws Exception {
+        JsonParamCache cache = new JsonParamCache(16);
+        Path file = write("a.json", "{}");
+
+        get(cache, file);
+        assertEquals("{\"value\":\"{}\"}", get(cache, file).getInput().getNode().toString());
+
+        // Changing the size invalidates the entry
+        write("a.json", "{ }");
+        assertEquals("{\"value\":\"{ }\"}", get(cache, file).getInput().getNode().toString());
+
+        // Changing only the last modified time invalidates the entry
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        get(cache, file);
+
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, this.loads.get());
+    }
+
+    @Test
+    public void evictedTest() throws Exception {
+        JsonParamCache cache = new JsonParamCache(1);
+        Path a = write("a.json", "{}");
+        Path b = write("b.json", "{}");
+
+        get(cache, a);
+        get(cache, b);
+        assertEquals(1, cache.size());
+
+        get(cache, a);
+        assertEquals(3, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertFalse(cache.getHitCount() > 0);
+    }
+
+    @Test
+    public void codecTest() throws Exception {
+        JsonParamCache cache = new JsonParamCache(16);
+        Path file = write("a.json", "{}");
+
+        // The test cases are bound to the reader of the configuration that loaded them
+        get(cache, file, JsonParamUnitConfig.defaults());
+        get(cache, file, JsonParamUnitConfig.builder().build());
+        get(cache, file, JsonParamUnitConfig.builder().mapper(new ObjectMapper()).build());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHitCount());
+
+        // A different codec reading the same shared test file loads it again
+        JsonParamUnitConfig config =
+                JsonParamUnitConfig.builder().cache(cache).mapper(new ObjectMapper()).build();
+        new JsonNodeParamUnit(JsonParamUnitConfig.builder().cache(cache).build()) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return input;
+            }
+        }.run(write("b.json", "{\"input\":{},\"output\":{}}").toString());
+        new JsonNodeParamUnit(config) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return input;
+            }
+        }.run(this.tempDir.resolve("b.json").toString());
+        assertEquals(4, cache.size());
+    }
+
+    @Override
+    public JsonNode process(JsonNode input, String context) {
+        ObjectNode node = this.getConfig().getMapper().createObjectNode();
+        node.put("success", input.get("foo").intValue() == 1);
+        return node;
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(this.tempDir.resolve(name), content);
+    }
+
+    private JsonParamCase get(JsonParamCache cache, Path file) throws Exception {
+        return get(cache, file, this.getConfig());
+    }
+
+    private JsonParamCase get(JsonParamCache cache, Path file, JsonParamUnitConfig config)
+            throws Exception {
+        Function<Path, List<JsonParamCase>> loader = path -> {
+            this.loads.incrementAndGet();
+            ObjectNode input = this.getConfig().getMapper().createObjectNode();
+            try {
+                input.put("value", Files.readString(path));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return List.of(new JsonParamCase("a.json", 0, new JsonSlice(input), null,
+                    new JsonSlice(input), null, null, null, null));
+        };
+
+        return cache.get(file, "a.json", config,
+                Files.readAttributes(file, BasicFileAttributes.class), loader).next();
+    }
+}
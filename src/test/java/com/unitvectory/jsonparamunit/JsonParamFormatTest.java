@@ -0,0 +1,167 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.unitvectory.jsonparamunit.example.InClass;
+import com.unitvectory.jsonparamunit.example.OutClass;
+
+/**
+ * Test the JsonParamFormat class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamFormatTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final JsonParamFormat CUSTOM = JsonParamFormat.builder().name("custom")
+            .factory(new CBORFactory()).extension(".custom").extension(".cust").build();
+
+    private static final JsonParamFormat BRACKET = JsonParamFormat.builder().name("bracket")
+            .factory(new JsonFactory()).magic(new byte[] {'['}).build();
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String name, String json, boolean header) throws Exception {
+        CBORFactory factory = CBORFactory.builder()
+                .configure(CBORGenerator.Feature.WRITE_TYPE_HEADER, header).build();
+        byte[] bytes = new ObjectMapper(factory).writeValueAsBytes(JSON.readTree(json));
+        return Files.write(this.tempDir.resolve(name), bytes);
+    }
+
+    private static JsonNodeParamUnit unit(JsonParamUnitConfig config) {
+        return new JsonNodeParamUnit(config) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return input;
+            }
+        };
+    }
+
+    private static JsonParamError failure(Path file) {
+        return assertThrows(JsonParamError.class,
+                () -> unit(JsonParamUnitConfig.defaults()).run(file.toString()));
+    }
+
+    private static JsonParamCase load(Path file, JsonParamUnitConfig config) {
+        return JsonCaseLoader.load(file, null, config).next();
+    }
+
+    @Test
+    public void cborTest() throws Exception {
+        // Selected by the extension
+        Path file = write("file.cbor", "[{\"input\":{\"a\":[1,\"x\"]},\"context\":\"c\","
+                + "\"output\":{\"a\":[1,\"x\"]}},{\"input\":{\"b\":1},\"output\":{\"b\":1}}]",
+                false);
+        unit(JsonParamUnitConfig.defaults()).run(file.toString());
+
+        // The input and output are slices of the test file
+        JsonParamCase testCase = load(file, JsonParamUnitConfig.defaults());
+        assertEquals("c", testCase.getContext());
+        assertNotNull(testCase.getEnvelope());
+        assertNull(testCase.getInput().getText());
+        assertEquals("{\"a\":[1,\"x\"]}", testCase.getInput().getNode().toString());
+    }
+
+    @Test
+    public void cborMagicTest() throws Exception {
+        // Selected by the self-describe tag
+        Path file = write("file.bin", "{\"input\":{\"foo\":1},\"output\":{\"success\":true}}",
+                true);
+
+        new JsonClassParamUnit<InClass, OutClass>(InClass.class) {
+
+            @Override
+            protected OutClass process(InClass input, String context) {
+                return OutClass.builder().success(input.getFoo() == 1).build();
+            }
+        }.run(file.toString());
+    }
+
+    @Test
+    public void notSlicedTest() throws Exception {
+        Path file = write("file.cust", "{\"input\":{\"a\":1},\"output\":{\"a\":1}}", false);
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder().format(CUSTOM).build();
+        unit(config).run(file.toString());
+
+        // The input and output are parsed as the test file is read
+        JsonParamCase testCase = load(file, config);
+        assertNull(testCase.getEnvelope());
+        assertEquals("{\"a\":1}", testCase.getInput().getNode().toString());
+        assertSame(testCase.getOutput().getNode(), testCase.getOutput().getNode());
+    }
+
+    @Test
+    public void detectTest() {
+        List<JsonParamFormat> formats = List.of(CUSTOM, BRACKET);
+        ByteBuffer empty = ByteBuffer.allocate(0);
+        ByteBuffer array = ByteBuffer.wrap(new byte[] {'{', '[', '1', ']'}, 1, 3);
+        ByteBuffer tag = ByteBuffer.wrap(new byte[] {(byte) 0xD9, (byte) 0xD9, (byte) 0xF7});
+        ByteBuffer partial = ByteBuffer.wrap(new byte[] {(byte) 0xD9, (byte) 0xD9, 0x00});
+
+        assertSame(CUSTOM, JsonParamFormat.detect(formats, "a.custom", tag));
+        assertSame(JsonParamFormat.CBOR, JsonParamFormat.detect(formats, "a.cbor", array));
+        assertSame(BRACKET, JsonParamFormat.detect(formats, "a.json", array));
+        assertSame(JsonParamFormat.CBOR, JsonParamFormat.detect(formats, "a.json", tag));
+        assertNull(JsonParamFormat.detect(formats, "a.json", partial));
+        assertNull(JsonParamFormat.detect(formats, "a.json", empty));
+        assertNull(JsonParamFormat.detect(List.of(), "a.json", ByteBuffer.wrap(new byte[4])));
+    }
+
+    @Test
+    public void immutableTest() throws Exception {
+        byte[] magic = {'['};
+        JsonParamFormat format = JsonParamFormat.builder().name("bracket")
+                .factory(new JsonFactory()).magic(magic).build();
+        magic[0] = '{';
+        format.getMagic()[0] = '{';
+        assertArrayEquals(new byte[] {'['}, format.getMagic());
+        assertNull(CUSTOM.getMagic());
+        assertNull(JsonParamFormat.builder().magic(null).build().getMagic());
+
+        // Each mapper reads with its own copy of the factory of the format
+        unit(JsonParamUnitConfig.defaults())
+                .run(write("file.cbor", "{\"input\":{},\"output\":{}}", false).toString());
+        assertNull(JsonParamFormat.CBOR.getFactory().getCodec());
+    }
+
+    @Test
+    public void errorsTest() throws Exception {
+        assertEquals("The 'output' JSON Object is missing from the test file.",
+                failure(write("output.cbor", "{\"input\":{}}", false)).getMessage());
+        assertEquals("The 'input' JSON Object is missing from the test file.",
+                failure(write("scalar.cbor", "1", false)).getMessage());
+
+        byte[] bytes = Files.readAllBytes(write("bad.cbor", "{\"input\":{\"a\":1}}", false));
+        Path truncated = Files.write(this.tempDir.resolve("bad.cbor"),
+                Arrays.copyOf(bytes, bytes.length - 2));
+        assertEquals("Failed to parse the JSON from the test file.",
+                failure(truncated).getMessage());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the JsonParamHistogram class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamHistogramTest {
+
+    @Test
+    public void emptyTest() {
+        JsonParamHistogram histogram = new JsonParamHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void exactTest() {
+        // Small values are counted exactly
+        JsonParamHistogram histogram = new JsonParamHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void bucketTest() {
+        // Values sharing a bucket are reported as its highest value
+        JsonParamHistogram histogram = new JsonParamHistogram();
+        histogram.record(128);
+        histogram.record(129);
+        histogram.record(130);
+        assertEquals(129, histogram.getValueAtPercentile(33));
+        assertEquals(130, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void precisionTest() {
+        JsonParamHistogram histogram = new JsonParamHistogram();
+        histogram.record(1_000_000);
+        histogram.record(2_000_000);
+
+        long p50 = histogram.getValueAtPercentile(50);
+        assertTrue(p50 >= 1_000_000 && p50 <= 1_000_000 + 1_000_000 / 64, "p50 " + p50);
+        assertEquals(2_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void rangeTest() {
+        JsonParamHistogram histogram = new JsonParamHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+}
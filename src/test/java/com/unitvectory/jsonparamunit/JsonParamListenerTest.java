@@ -0,0 +1,213 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+/**
+ * Test the phases reported to a JsonParamListener.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamListenerTest extends JsonNodeParamUnit {
+
+    @RegisterExtension
+    static final JsonParamReportExtension REPORT = new JsonParamReportExtension();
+
+    private static final String CASE = "{\"input\":{\"a\":1},\"output\":{\"a\":1}}";
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Creates a new instance of the JsonParamListenerTest.
+     */
+    public JsonParamListenerTest() {
+        super(JsonParamUnitConfig.builder().listener(REPORT).build());
+    }
+
+    @Test
+    public void reportTest() throws Exception {
+        // The phases are published as report entries once the test finishes
+        run(write(CASE));
+    }
+
+    @Test
+    public void nodeTest() throws Exception {
+        String file = write(CASE);
+        node(config(ComparisonMode.NATIVE, false)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:PARSE", "t.json:PROCESS", "t.json:PARSE",
+                "t.json:ASSERT"), this.events);
+
+        this.events.clear();
+        node(config(ComparisonMode.JSON_ASSERT, false)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:PARSE", "t.json:PROCESS", "t.json:PARSE",
+                "t.json:CONVERT", "t.json:ASSERT"), this.events);
+    }
+
+    @Test
+    public void classTest() throws Exception {
+        String file = write(CASE);
+        clazz(config(ComparisonMode.NATIVE, false)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:PARSE", "t.json:PROCESS", "t.json:PARSE",
+                "t.json:ASSERT"), this.events);
+
+        this.events.clear();
+        clazz(config(ComparisonMode.JSON_ASSERT, false)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:PARSE", "t.json:PROCESS", "t.json:PARSE",
+                "t.json:CONVERT", "t.json:CONVERT", "t.json:ASSERT"), this.events);
+    }
+
+    @Test
+    public void stringTest() throws Exception {
+        String file = write(CASE);
+        string(config(ComparisonMode.NATIVE, false)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:PARSE", "t.json:CONVERT", "t.json:PROCESS",
+                "t.json:PARSE", "t.json:ASSERT"), this.events);
+
+        // The raw input is not parsed
+        this.events.clear();
+        string(config(ComparisonMode.NATIVE, true)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:CONVERT", "t.json:PROCESS", "t.json:PARSE",
+                "t.json:ASSERT"), this.events);
+
+        this.events.clear();
+        string(config(ComparisonMode.JSON_ASSERT, false)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:PARSE", "t.json:CONVERT", "t.json:PROCESS",
+                "t.json:PARSE", "t.json:CONVERT", "t.json:CONVERT", "t.json:ASSERT"),
+                this.events);
+    }
+
+    @Test
+    public void streamTest() throws Exception {
+        String file = write(CASE);
+        stream(config(ComparisonMode.NATIVE, false)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:PARSE", "t.json:PROCESS", "t.json:ASSERT"),
+                this.events);
+
+        this.events.clear();
+        stream(config(ComparisonMode.JSON_ASSERT, false)).run(file);
+        assertEquals(List.of("t.json:LOAD", "t.json:PARSE", "t.json:PROCESS", "t.json:PARSE",
+                "t.json:CONVERT", "t.json:ASSERT"), this.events);
+    }
+
+    @Test
+    public void multiTest() throws Exception {
+        String file = write("[" + CASE + "," + CASE + "]");
+        JsonNodeParamUnit unit = node(config(ComparisonMode.NATIVE, false));
+
+        unit.run(file);
+        assertEquals(List.of("t.json[0]:LOAD", "t.json[1]:LOAD"), loads());
+
+        this.events.clear();
+        unit.run(file, 1);
+        assertEquals(List.of("t.json[1]:LOAD", "t.json[1]:PARSE", "t.json[1]:PROCESS",
+                "t.json[1]:PARSE", "t.json[1]:ASSERT"), this.events);
+    }
+
+    @Test
+    public void runCaseTest() {
+        // A test case loaded ahead of time has no load phase
+        JsonNode node = JsonNodeFactory.instance.objectNode();
+        node(config(ComparisonMode.NATIVE, false)).runCase(
+                new JsonParamCase("c", 0, new JsonSlice(node), null, new JsonSlice(node), null,
+                        null, null, null));
+        assertEquals(List.of("c:PARSE", "c:PROCESS", "c:PARSE", "c:ASSERT"), this.events);
+    }
+
+    @Test
+    public void failedTest() throws Exception {
+        String file = write("{\"output\":{}}");
+        assertThrows(JsonParamError.class,
+                () -> node(config(ComparisonMode.NATIVE, false)).run(file));
+        assertEquals(List.of("t.json:LOAD"), this.events);
+    }
+
+    @Override
+    public JsonNode process(JsonNode input, String context) {
+        return input;
+    }
+
+    private List<String> loads() {
+        return this.events.stream().filter(event -> event.endsWith(":LOAD"))
+                .collect(Collectors.toList());
+    }
+
+    private String write(String content) throws IOException {
+        return Files.writeString(this.tempDir.resolve("t.json"), content).toString();
+    }
+
+    private JsonParamUnitConfig config(ComparisonMode mode, boolean raw) {
+        return JsonParamUnitConfig.builder().comparisonMode(mode).rawStringInput(raw)
+                .listener((testCase, phase, nanos) -> {
+                    assertTrue(nanos >= 0);
+                    this.events.add(testCase + ":" + phase);
+                }).build();
+    }
+
+    private static JsonNodeParamUnit node(JsonParamUnitConfig config) {
+        return new JsonNodeParamUnit(config) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return input;
+            }
+        };
+    }
+
+    private static JsonNodeParamUnit clazz(JsonParamUnitConfig config) {
+        return new JsonClassParamUnit<Object, Object>(Object.class, config) {
+
+            @Override
+            protected Object process(Object input, String context) {
+                return input;
+            }
+        };
+    }
+
+    private static JsonNodeParamUnit string(JsonParamUnitConfig config) {
+        return new JsonStringParamUnit(config) {
+
+            @Override
+            protected String process(String input, String context) {
+                return input;
+            }
+        };
+    }
+
+    private static JsonNodeParamUnit stream(JsonParamUnitConfig config) {
+        return new JsonStreamParamUnit(config) {
+
+            @Override
+            protected void process(JsonParser input, JsonGenerator output, String context)
+                    throws IOException {
+                input.nextToken();
+                output.copyCurrentStructure(input);
+            }
+        };
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Test the JsonParamLoadRunner class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamLoadRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final JsonNodeParamUnit unit = new JsonNodeParamUnit() {
+
+        @Override
+        protected JsonNode process(JsonNode input, String context) {
+            calls.incrementAndGet();
+
+            // Each test case is run with its own copy of the input
+            assertFalse(input.has("seen"));
+            if (input.has("fail")) {
+                sleep();
+                throw new IllegalStateException("failed");
+            }
+
+            return ((ObjectNode) input).put("seen", context);
+        }
+    };
+
+    @Test
+    public void iterationsTest() throws Exception {
+        write("a.json",
+                "{\"input\":{\"a\":1},\"context\":\"x\",\"output\":{\"a\":1,\"seen\":\"x\"}}");
+        write("sub/b.json", "[{\"input\":{\"b\":1},\"output\":{\"b\":1,\"seen\":null}},"
+                + "{\"input\":{\"b\":2},\"output\":{\"b\":2,\"seen\":null}}]");
+        write("c.txt", "not a test file");
+
+        AtomicInteger created = new AtomicInteger();
+        JsonParamLoadReport report = JsonParamLoadRunner.builder().unit(this.unit)
+                .directory(this.tempDir).threads(3).iterations(100).threadFactory(runnable -> {
+                    created.incrementAndGet();
+                    return new Thread(runnable);
+                }).build().run();
+
+        assertEquals(3, created.get());
+        assertEquals(100, this.calls.get());
+        assertEquals(100, report.getIterations());
+        assertEquals(0, report.getErrors());
+        assertNull(report.getFirstError());
+        assertTrue(report.getElapsedNanos() > 0);
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getP50Nanos() <= report.getP90Nanos());
+        assertTrue(report.getP90Nanos() <= report.getP99Nanos());
+        assertTrue(report.getP99Nanos() <= report.getMaxNanos());
+        assertTrue(report.toString().matches("100 iterations in \\d+\\.\\d{3}s \\(\\d+\\.\\d/s\\), "
+                + "0 errors, p50 \\d+\\.\\d{3}us, p90 \\d+\\.\\d{3}us, p99 \\d+\\.\\d{3}us, "
+                + "max \\d+\\.\\d{3}us"), report.toString());
+    }
+
+    @Test
+    public void notRecursiveTest() throws Exception {
+        write("a.json", "{\"input\":{\"a\":1},\"output\":{\"a\":1,\"seen\":null}}");
+        write("sub/b.json", "{\"input\":{},\"output\":{}}");
+
+        JsonParamLoadReport report = JsonParamLoadRunner.builder().unit(this.unit)
+                .directory(this.tempDir).recurse(false).threads(1).iterations(10).build().run();
+        assertEquals(0, report.getErrors());
+    }
+
+    @Test
+    public void durationTest() throws Exception {
+        write("a.json", "{\"input\":{\"a\":1},\"output\":{\"a\":1,\"seen\":null}}");
+
+        JsonParamLoadReport report = JsonParamLoadRunner.builder().unit(this.unit)
+                .directory(this.tempDir).threads(2).duration(Duration.ofMillis(50)).build().run();
+
+        assertTrue(report.getIterations() > 0);
+        assertEquals(report.getIterations(), this.calls.get());
+        assertTrue(report.getElapsedNanos() >= Duration.ofMillis(50).toNanos());
+        assertEquals(0, report.getErrors());
+    }
+
+    @Test
+    public void errorsTest() throws Exception {
+        // Both mismatched outputs and exceptions thrown by process are counted
+        write("a.json", "{\"input\":{\"a\":1},\"output\":{\"a\":2}}");
+        write("b.json", "{\"input\":{\"fail\":true},\"output\":{}}");
+
+        JsonParamLoadReport report = JsonParamLoadRunner.builder().unit(this.unit)
+                .directory(this.tempDir).threads(1).iterations(10).build().run();
+
+        assertEquals(10, report.getIterations());
+        assertEquals(10, report.getErrors());
+        assertTrue(report.getFirstError() instanceof JsonParamError);
+        assertTrue(report.getFirstError().getMessage()
+                .startsWith("The actual output does not match the expected output."));
+
+        // Every thread fails, the failure of the first is reported
+        Files.delete(this.tempDir.resolve("a.json"));
+        report = JsonParamLoadRunner.builder().unit(this.unit).directory(this.tempDir).threads(2)
+                .duration(Duration.ofMillis(20)).build().run();
+        assertEquals(report.getIterations(), report.getErrors());
+        assertEquals("failed", report.getFirstError().getMessage());
+    }
+
+    @Test
+    public void invalidTest() throws Exception {
+        assertEquals("The provided unit is null.", invalid(JsonParamLoadRunner.builder()));
+        assertEquals("The provided directory is null.",
+                invalid(JsonParamLoadRunner.builder().unit(this.unit)));
+
+        JsonParamLoadRunner.JsonParamLoadRunnerBuilder builder =
+                JsonParamLoadRunner.builder().unit(this.unit).directory(this.tempDir);
+        assertEquals("The number of threads must be at least 1.",
+                invalid(builder.threads(0).iterations(1)));
+
+        builder.threads(1).iterations(0);
+        String exactlyOne = "Exactly one of a duration or a number of iterations must be provided.";
+        assertEquals(exactlyOne, invalid(builder));
+        assertEquals(exactlyOne, invalid(builder.iterations(1).duration(Duration.ofSeconds(1))));
+    }
+
+    @Test
+    public void corpusTest() throws Exception {
+        JsonParamLoadRunner.JsonParamLoadRunnerBuilder builder =
+                JsonParamLoadRunner.builder().unit(this.unit).threads(1).iterations(1);
+
+        assertEquals("Failed to read the corpus directory.",
+                invalid(builder.directory(this.tempDir.resolve("notexist"))));
+        assertEquals("The corpus does not contain any test cases.",
+                invalid(builder.directory(this.tempDir)));
+
+        // The test files are parsed before the load starts
+        write("a.json", "{\"input\":{}}");
+        assertEquals("The 'output' JSON Object is missing from the test file.",
+                invalid(builder));
+        write("a.json", "{\"input\":{\"a\":},\"output\":{}}");
+        assertEquals("Failed to parse the JSON from the test file.", invalid(builder));
+        assertEquals(0, this.calls.get());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String invalid(JsonParamLoadRunner.JsonParamLoadRunnerBuilder builder) {
+        return assertThrows(JsonParamError.class, () -> builder.build().run()).getMessage();
+    }
+
+    private void write(String name, String content) throws IOException {
+        Path file = this.tempDir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Test the JsonParamReportExtension class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamReportExtensionTest {
+
+    @Test
+    public void publishTest() {
+        JsonParamReportExtension extension = new JsonParamReportExtension();
+        ExtensionContext context = mock(ExtensionContext.class);
+
+        extension.beforeEach(context);
+        extension.phaseCompleted("a", JsonParamPhase.PROCESS, 5);
+        extension.phaseCompleted("a", JsonParamPhase.PARSE, 1);
+        extension.phaseCompleted("a", JsonParamPhase.PARSE, 2);
+        extension.afterEach(context);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("jsonparamunit.parse.nanos", "3");
+        entries.put("jsonparamunit.process.nanos", "5");
+        verify(context).publishReportEntry(entries);
+    }
+
+    @Test
+    public void nothingToPublishTest() {
+        JsonParamReportExtension extension = new JsonParamReportExtension();
+        ExtensionContext context = mock(ExtensionContext.class);
+
+        // Phases outside of a test are ignored
+        extension.phaseCompleted("a", JsonParamPhase.PROCESS, 5);
+        extension.afterEach(context);
+
+        extension.beforeEach(context);
+        extension.afterEach(context);
+
+        verify(context, never()).publishReportEntry(any(Map.class));
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.TestAbortedException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.IntNode;
+
+/**
+ * Test the JsonParamResultCache class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamResultCacheTest {
+
+    private static final String CASES = "[{\"input\":{\"a\":1},\"output\":{\"a\":1}},"
+            + "{\"input\":{\"a\":2},\"output\":{\"a\":2}}]";
+
+    private static final JsonParamUnitConfig CONFIG = JsonParamUnitConfig.defaults();
+
+    @TempDir
+    Path tempDir;
+
+    private Path results;
+
+    private Path classes;
+
+    private Path testFile;
+
+    private final AtomicInteger processed = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.results = this.tempDir.resolve("target/results.txt");
+        this.classes = Files.createDirectories(this.tempDir.resolve("classes/a"));
+        Files.writeString(this.classes.resolve("A.class"), "a");
+        this.testFile = Files.writeString(this.tempDir.resolve("file.json"), CASES);
+    }
+
+    private JsonParamResultCache cache(boolean fullRun) {
+        return new JsonParamResultCache(this.results,
+                List.of(this.tempDir.resolve("classes")), fullRun);
+    }
+
+    private JsonNodeParamUnit unit(JsonParamResultCache cache) {
+        return unit(JsonParamUnitConfig.builder().resultCache(cache).build());
+    }
+
+    private JsonNodeParamUnit unit(JsonParamUnitConfig config) {
+        return new JsonNodeParamUnit(config) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                JsonParamResultCacheTest.this.processed.incrementAndGet();
+                return input;
+            }
+        };
+    }
+
+    private int run(JsonParamResultCache cache) {
+        return run(unit(cache));
+    }
+
+    private int run(JsonNodeParamUnit unit) {
+        this.processed.set(0);
+        try {
+            unit.run(this.testFile.toString());
+        } catch (TestAbortedException e) {
+            // Every test case was skipped
+        }
+
+        return this.processed.get();
+    }
+
+    @Test
+    public void skipTest() throws Exception {
+        assertEquals(2, run(cache(false)));
+        assertEquals(2, Files.readAllLines(this.results).size());
+
+        // Both test cases passed so a later run skips them reporting the test as aborted
+        JsonParamResultCache cache = cache(false);
+        TestAbortedException exception = assertThrows(TestAbortedException.class,
+                () -> unit(cache).run(this.testFile.toString()));
+        assertEquals("All 2 test cases in the test file passed in an earlier run.",
+                exception.getMessage());
+        assertEquals(2, cache.getSkipCount());
+
+        exception = assertThrows(TestAbortedException.class,
+                () -> unit(cache).run(this.testFile.toString(), 1));
+        assertEquals("The test case passed in an earlier run.", exception.getMessage());
+    }
+
+    @Test
+    public void partialSkipTest() throws Exception {
+        run(cache(false));
+
+        // The test file passes as one of its test cases was run
+        Files.writeString(this.testFile, CASES.replace("]", ",{\"input\":3,\"output\":3}]"));
+        JsonParamResultCache cache = cache(false);
+        assertEquals(1, run(cache));
+        assertEquals(2, cache.getSkipCount());
+    }
+
+    @Test
+    public void changedTestCaseTest() throws Exception {
+        run(cache(false));
+
+        Files.writeString(this.testFile, CASES.replace("\"a\":2},\"output\":{\"a\":2",
+                "\"a\":3},\"output\":{\"a\":3"));
+        JsonParamResultCache cache = cache(false);
+        assertEquals(1, run(cache));
+        assertEquals(1, cache.getSkipCount());
+    }
+
+    @Test
+    public void changedClasspathTest() throws Exception {
+        run(cache(false));
+
+        Files.writeString(this.classes.resolve("A.class"), "b");
+        assertEquals(2, run(cache(false)));
+
+        // Renaming a file changes the fingerprint even if the content is the same
+        Files.move(this.classes.resolve("A.class"), this.classes.resolve("B.class"));
+        assertEquals(2, run(cache(false)));
+        assertEquals(0, run(cache(false)));
+    }
+
+    @Test
+    public void changedTestClassTest() throws Exception {
+        JsonParamResultCache cache = cache(false);
+        ByteBuffer envelope = ByteBuffer.wrap("{}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(cache.key(JsonParamSourceTest.class, CONFIG, envelope),
+                cache.key(JsonParamSourceTest.class, CONFIG, envelope));
+        assertNotEquals(cache.key(JsonParamSourceTest.class, CONFIG, envelope),
+                cache.key(JsonStringRawTest.class, CONFIG, envelope));
+    }
+
+    @Test
+    public void changedConfigTest() throws Exception {
+        run(cache(false));
+
+        // A test case that passed may fail with different settings so it runs again
+        JsonParamResultCache cache = cache(false);
+        assertEquals(2, run(unit(JsonParamUnitConfig.builder().resultCache(cache)
+                .strictOutput(false).build())));
+        assertEquals(0, run(unit(JsonParamUnitConfig.builder().resultCache(cache)
+                .strictOutput(false).build())));
+        assertEquals(0, run(cache));
+    }
+
+    @Test
+    public void configIdentityTest() throws Exception {
+        JsonParamResultCache cache = cache(false);
+        ByteBuffer envelope = ByteBuffer.wrap("{}".getBytes(StandardCharsets.UTF_8));
+        List<JsonParamUnitConfig> configs = List.of(CONFIG,
+                JsonParamUnitConfig.builder().comparisonMode(ComparisonMode.JSON_ASSERT).build(),
+                JsonParamUnitConfig.builder().module(new SimpleModule("module")).build(),
+                JsonParamUnitConfig.builder()
+                        .mapper(new ObjectMapper().registerModule(new SimpleModule("other")))
+                        .build(),
+                JsonParamUnitConfig.builder().mapper(new ObjectMapper()
+                        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)).build(),
+                JsonParamUnitConfig.builder().format(JsonParamFormat.CBOR).build());
+        Set<String> keys = new HashSet<>();
+        configs.forEach(config -> keys.add(cache.key(JsonParamSourceTest.class, config, envelope)));
+        assertEquals(configs.size(), keys.size());
+
+        // The identity does not depend on the instances, only on the settings
+        assertEquals(cache.key(JsonParamSourceTest.class, CONFIG, envelope),
+                cache.key(JsonParamSourceTest.class,
+                        JsonParamUnitConfig.builder().mapper(new ObjectMapper()).build(),
+                        envelope));
+    }
+
+    @Test
+    public void sharedFileTest() throws Exception {
+        // Two forks recording to the same file keep each other's results as they compact it
+        JsonParamResultCache first = cache(false);
+        JsonParamResultCache second = cache(false);
+        String key = first.key(JsonParamSourceTest.class, CONFIG, ByteBuffer.wrap(new byte[0]));
+        String other =
+                second.key(JsonParamSourceTest.class, CONFIG, ByteBuffer.wrap(new byte[1]));
+        first.recordPassed(JsonParamSourceTest.class, key);
+        second.recordPassed(JsonParamSourceTest.class, other);
+        first.save();
+        second.save();
+
+        List<String> lines = Files.readAllLines(this.results);
+        assertEquals(2, lines.size());
+        assertTrue(first.hasPassed(other));
+        assertTrue(second.hasPassed(key));
+    }
+
+    @Test
+    public void fullRunTest() throws Exception {
+        run(cache(false));
+
+        assertEquals(2, run(cache(true)));
+        assertEquals(0, run(cache(false)));
+    }
+
+    @Test
+    public void failedNotRecordedTest() throws Exception {
+        Files.writeString(this.testFile, "{\"input\":{\"a\":1},\"output\":{\"a\":2}}");
+        JsonParamResultCache cache = cache(false);
+
+        assertThrows(AssertionError.class, () -> run(cache));
+        assertThrows(AssertionError.class, () -> run(cache));
+        assertEquals(0, cache.getSkipCount());
+        assertFalse(Files.exists(this.results));
+    }
+
+    @Test
+    public void noEnvelopeTest() throws Exception {
+        // Test cases not read from a test file always run
+        JsonParamCase testCase = new JsonParamCase("case", 0,
+                new JsonSlice(IntNode.valueOf(1)), null, new JsonSlice(IntNode.valueOf(1)), null,
+                null, null, null);
+        JsonParamResultCache cache = cache(false);
+
+        unit(cache).runCase(testCase);
+        unit(cache).runCase(testCase);
+        assertFalse(Files.exists(this.results));
+    }
+
+    @Test
+    public void recordedOnceTest() throws Exception {
+        JsonParamResultCache cache = cache(false);
+        String key = cache.key(JsonParamSourceTest.class, CONFIG, ByteBuffer.wrap(new byte[0]));
+        cache.recordPassed(JsonParamSourceTest.class, key);
+        cache.recordPassed(JsonParamSourceTest.class, key);
+
+        List<String> lines = Files.readAllLines(this.results);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith(JsonParamSourceTest.class.getName() + " "));
+        assertTrue(lines.get(0).endsWith(" " + key));
+        assertTrue(cache.hasPassed(key));
+    }
+
+    @Test
+    public void saveTest() throws Exception {
+        // Results of other test classes are kept and unreadable lines are dropped
+        Files.createDirectories(this.results.getParent());
+        Files.writeString(this.results, "other.Test 00 a\nother.Test 00 a\nunreadable\n");
+        run(cache(false));
+        assertEquals(5, Files.readAllLines(this.results).size());
+
+        // The results of the earlier fingerprint are dropped once the test class runs again
+        Files.writeString(this.classes.resolve("A.class"), "b");
+        JsonParamResultCache cache = cache(false);
+        assertEquals(2, run(cache));
+        assertEquals(7, Files.readAllLines(this.results).size());
+
+        cache.afterAll(null);
+        List<String> lines = Files.readAllLines(this.results);
+        assertEquals(3, lines.size());
+        assertEquals("other.Test 00 a", lines.get(2));
+        assertEquals(0, run(cache(false)));
+    }
+
+    @Test
+    public void missingClassFileTest() throws Exception {
+        // A class generated at runtime has no class file so its results are not recorded
+        Runnable generated = () -> {
+        };
+        JsonParamResultCache cache = cache(false);
+        assertNull(cache.key(generated.getClass(), CONFIG, ByteBuffer.wrap(new byte[0])));
+    }
+
+    @Test
+    public void openTest() {
+        try {
+            System.setProperty(JsonParamResultCache.FULL_RUN_PROPERTY, "true");
+            assertEquals(0, JsonParamResultCache.open().getSkipCount());
+        } finally {
+            System.clearProperty(JsonParamResultCache.FULL_RUN_PROPERTY);
+        }
+
+        assertEquals(0, JsonParamResultCache.open(this.classes).getSkipCount());
+    }
+
+    @Test
+    public void readErrorTest() throws Exception {
+        Files.createDirectories(this.results);
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> cache(false));
+        assertEquals("Failed to read the result cache.", exception.getMessage());
+    }
+
+    @Test
+    public void writeErrorTest() throws Exception {
+        Files.writeString(this.tempDir.resolve("target"), "");
+        JsonParamResultCache cache = cache(false);
+        String key = cache.key(JsonParamSourceTest.class, CONFIG, ByteBuffer.wrap(new byte[0]));
+        JsonParamError exception = assertThrows(JsonParamError.class,
+                () -> cache.recordPassed(JsonParamSourceTest.class, key));
+        assertEquals("Failed to write the result cache.", exception.getMessage());
+    }
+
+    @Test
+    public void missingClasspathTest() throws Exception {
+        JsonParamResultCache cache = new JsonParamResultCache(this.results,
+                List.of(this.tempDir.resolve("missing")), false);
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> cache
+                .key(JsonParamSourceTest.class, CONFIG, ByteBuffer.wrap(new byte[0])));
+        assertEquals("Failed to fingerprint the test class and classpath.",
+                exception.getMessage());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test the JsonParamShard class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamShardTest {
+
+    private static final List<String> NAMES =
+            List.of("a.json", "b.json", "c.json", "d.json", "e.json", "f.json", "g.json");
+
+    @TempDir
+    Path tempDir;
+
+    private Path timings(String... lines) throws Exception {
+        return Files.write(this.tempDir.resolve("timings.txt"), List.of(lines));
+    }
+
+    private List<List<String>> split(int count, Path timings) {
+        List<List<String>> shards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            shards.add(new JsonParamShard(i, count, timings, output()).select(NAMES));
+        }
+        return shards;
+    }
+
+    private Path output() {
+        return this.tempDir.resolve("output/timings.txt");
+    }
+
+    @Test
+    public void singleTest() {
+        assertEquals(NAMES, new JsonParamShard(0, 1, null, output()).select(NAMES));
+        assertSame(JsonParamShard.shared(), JsonParamShard.shared());
+        assertEquals(NAMES, JsonParamShard.shared().select(NAMES));
+    }
+
+    @Test
+    public void propertiesTest() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(JsonParamShard.INDEX_PROPERTY, "1");
+        properties.setProperty(JsonParamShard.COUNT_PROPERTY, "2");
+        properties.setProperty(JsonParamShard.OUTPUT_PROPERTY, output().toString());
+        assertEquals(split(2, null).get(1), JsonParamShard.of(properties).select(NAMES));
+
+        Path timings = timings("70 a.json", "60 b.json");
+        properties.setProperty(JsonParamShard.TIMINGS_PROPERTY, timings.toString());
+        assertEquals(split(2, timings).get(1), JsonParamShard.of(properties).select(NAMES));
+    }
+
+    @Test
+    public void defaultOutputTest() {
+        // Each shard and each JVM fork writes its own output file
+        Properties properties = new Properties();
+        properties.setProperty(JsonParamShard.INDEX_PROPERTY, " 1 ");
+        properties.setProperty(JsonParamShard.COUNT_PROPERTY, "2");
+        assertEquals(Path.of("target/jsonparamunit-timings-1-" + ProcessHandle.current().pid()
+                + ".txt").toAbsolutePath(), JsonParamShard.of(properties).getOutput());
+    }
+
+    @Test
+    public void invalidPropertiesTest() {
+        for (String name : new String[] {JsonParamShard.INDEX_PROPERTY,
+                JsonParamShard.COUNT_PROPERTY}) {
+            Properties properties = new Properties();
+            properties.setProperty(name, "x");
+            assertEquals("The " + name + " system property must be a number.",
+                    assertThrows(JsonParamError.class, () -> JsonParamShard.of(properties))
+                            .getMessage());
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(JsonParamShard.TIMINGS_PROPERTY,
+                this.tempDir.resolve("missing.txt").toString());
+        assertEquals("The jsonparamunit.shardTimings system property is not a timings file.",
+                assertThrows(JsonParamError.class, () -> JsonParamShard.of(properties))
+                        .getMessage());
+    }
+
+    @Test
+    public void hashTest() throws Exception {
+        // Without timings each test file is assigned by the hash of its name
+        List<List<String>> shards = split(3, null);
+        for (int i = 0; i < 3; i++) {
+            for (String name : shards.get(i)) {
+                assertEquals(i, Math.floorMod(name.hashCode(), 3));
+            }
+        }
+
+        assertEquals(NAMES.size(), shards.stream().mapToInt(List::size).sum());
+        assertEquals(shards, split(3, null));
+    }
+
+    @Test
+    public void balancedTest() throws Exception {
+        // Longest first onto the least loaded shard
+        Path timings = timings("70 a.json", "60 b.json", "50 c.json", "40 d.json", "30 e.json",
+                "20 f.json", "10 g.json");
+        assertEquals(List.of(List.of("a.json", "d.json", "e.json"),
+                List.of("b.json", "c.json", "f.json", "g.json")), split(2, timings));
+    }
+
+    @Test
+    public void unknownTest() throws Exception {
+        // The test files without a duration count as the average duration on their hash shard
+        Path timings = timings("", "30 a.json", "10 b.json", "20 c.json", "20 d.json", "10 e.json",
+                "999 f.json", "10 f.json");
+        assertEquals(1, Math.floorMod("g.json".hashCode(), 2));
+        assertEquals(List.of(List.of("a.json", "d.json", "f.json"),
+                List.of("b.json", "c.json", "e.json", "g.json")), split(2, timings));
+    }
+
+    @Test
+    public void recordTest() throws Exception {
+        // Only the durations recorded by this shard are written and the timings file is untouched
+        Path timings = timings("5 old.json", "7 a.json");
+        JsonParamShard shard = new JsonParamShard(0, 2, timings, output());
+        shard.phaseCompleted("a.json[0]", JsonParamPhase.PARSE, 1);
+        shard.phaseCompleted("a.json[1]", JsonParamPhase.PROCESS, 2);
+        shard.phaseCompleted("b.json", JsonParamPhase.PROCESS, 3);
+        shard.phaseCompleted("[1]", JsonParamPhase.PROCESS, 4);
+        shard.phaseCompleted("c[1].json", JsonParamPhase.PROCESS, 5);
+        shard.afterAll(null);
+
+        assertEquals(List.of("4 [1]", "3 a.json", "3 b.json", "5 c[1].json"),
+                Files.readAllLines(output()));
+        assertEquals(List.of("5 old.json", "7 a.json"), Files.readAllLines(timings));
+    }
+
+    @Test
+    public void invalidTest() {
+        Path timings = this.tempDir.resolve("timings.txt");
+        assertEquals("The number of shards must be at least 1.",
+                assertThrows(JsonParamError.class,
+                        () -> new JsonParamShard(0, 0, timings, output()))
+                        .getMessage());
+        for (int index : new int[] {-1, 2}) {
+            assertEquals(
+                    "The shard index must be at least 0 and less than the number of shards.",
+                    assertThrows(JsonParamError.class,
+                            () -> new JsonParamShard(index, 2, timings, output()))
+                            .getMessage());
+        }
+    }
+
+    @Test
+    public void readErrorTest() throws Exception {
+        Path bad = timings("x a.json");
+        Path directory = Files.createDirectories(this.tempDir.resolve("directory"));
+        Path missing = this.tempDir.resolve("missing.txt");
+        for (Path timings : new Path[] {bad, directory, missing}) {
+            assertEquals("Failed to read the shard timings.",
+                    assertThrows(JsonParamError.class,
+                            () -> new JsonParamShard(0, 2, timings, output())).getMessage());
+        }
+
+        assertFalse(Files.exists(output()));
+    }
+
+    @Test
+    public void writeErrorTest() throws Exception {
+        Files.writeString(this.tempDir.resolve("file"), "");
+        JsonParamShard shard =
+                new JsonParamShard(0, 1, null, this.tempDir.resolve("file/timings.txt"));
+        assertEquals("Failed to write the shard timings.",
+                assertThrows(JsonParamError.class, shard::save).getMessage());
+    }
+}
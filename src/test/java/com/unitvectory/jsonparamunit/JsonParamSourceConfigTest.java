@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.lang.annotation.Annotation;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Test the config used by JsonParamSource with the per method test instance lifecycle, where the
+ * test instance is not available when the test files are parsed.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamSourceConfigTest extends JsonNodeParamUnit {
+
+    private static final JsonParamUnitConfig CONFIG =
+            JsonParamUnitConfig.builder().maxDifferences(3).build();
+
+    /**
+     * Creates a new instance of the JsonParamSourceConfigTest.
+     */
+    public JsonParamSourceConfigTest() {
+        super(CONFIG);
+    }
+
+    static JsonParamUnitConfig config() {
+        return CONFIG;
+    }
+
+    static JsonParamUnitConfig rawConfig() {
+        return JsonParamUnitConfig.builder().rawStringInput(true).build();
+    }
+
+    JsonParamUnitConfig instanceConfig() {
+        return CONFIG;
+    }
+
+    static String stringConfig() {
+        return "";
+    }
+
+    static JsonParamUnitConfig failingConfig() {
+        throw new IllegalStateException("failing");
+    }
+
+    static JsonParamUnitConfig nullConfig() {
+        return null;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @JsonParamSource(resources = "/multi", fileExtension = "", config = "config")
+    public void configTest(JsonParamCase testCase) {
+        runCase(testCase);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @JsonParamSource(resources = "/multi", fileExtension = "")
+    public void unresolvedTest(JsonParamCase testCase) {
+        // Parsed with the default config which is not the config of this test class
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> runCase(testCase));
+        assertEquals("The test case was parsed with the default config as the test instance was "
+                + "not available; provide the config with the config attribute of "
+                + "JsonParamSource or use the per class test instance lifecycle.",
+                exception.getMessage());
+    }
+
+    @Test
+    public void inheritedTest() throws Exception {
+        assertEquals(6, count(Inherited.class, "config"));
+    }
+
+    @Test
+    public void parseInputTest() throws Exception {
+        // The input is not parsed ahead of time by test classes that bind or stream it
+        assertEquals(6, count(JsonParamSourceConfigTest.class, "rawConfig"));
+        assertEquals(6, count(ReverseStringTest.class, ""));
+        assertEquals(6, count(JsonStreamTest.class, ""));
+    }
+
+    @Test
+    public void configMethodTest() {
+        assertEquals("The provided config method does not exist.", failure("missing"));
+        assertEquals("The provided config method must be static and return a config.",
+                failure("instanceConfig"));
+        assertEquals("The provided config method must be static and return a config.",
+                failure("stringConfig"));
+        assertEquals("The provided config method failed.", failure("failingConfig"));
+        assertEquals("The provided config method returned null.", failure("nullConfig"));
+    }
+
+    @Override
+    public JsonNode process(JsonNode input, String context) {
+        ObjectNode node = this.getConfig().getMapper().createObjectNode();
+        node.put("sum", input.get("a").intValue() + input.get("b").intValue());
+        return node;
+    }
+
+    private static long count(Class<?> testClass, String config) throws Exception {
+        ExtensionContext context = mock(ExtensionContext.class);
+        when(context.getRequiredTestClass()).then(invocation -> testClass);
+        when(context.getTestInstance()).thenReturn(Optional.empty());
+
+        JsonParamArgumentsProvider provider = new JsonParamArgumentsProvider();
+        provider.accept(source(config));
+        try (Stream<? extends Arguments> arguments = provider.provideArguments(null, context)) {
+            return arguments.count();
+        }
+    }
+
+    private static String failure(String config) {
+        return assertThrows(JsonParamError.class,
+                () -> count(JsonParamSourceConfigTest.class, config)).getMessage();
+    }
+
+    private static JsonParamSource source(String config) {
+        return new JsonParamSource() {
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return JsonParamSource.class;
+            }
+
+            @Override
+            public String resources() {
+                return "/multi";
+            }
+
+            @Override
+            public String fileExtension() {
+                return "";
+            }
+
+            @Override
+            public boolean recurse() {
+                return false;
+            }
+
+            @Override
+            public int parallelism() {
+                return 0;
+            }
+
+            @Override
+            public String bundle() {
+                return "";
+            }
+
+            @Override
+            public String config() {
+                return config;
+            }
+        };
+    }
+
+    /**
+     * A test class inheriting the config method.
+     */
+    static class Inherited extends JsonParamSourceConfigTest {
+    }
+}
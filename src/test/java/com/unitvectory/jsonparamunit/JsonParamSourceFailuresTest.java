@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.lang.annotation.Annotation;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Test the failures reported for test cases provided by JsonParamSource using the config of the
+ * test instance.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class JsonParamSourceFailuresTest extends JsonNodeParamUnit {
+
+    /**
+     * Creates a new instance of the JsonParamSourceFailuresTest.
+     */
+    public JsonParamSourceFailuresTest() {
+        super(JsonParamUnitConfig.builder().cache(new JsonParamCache(16)).build());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @JsonParamSource(resources = "/failures", recurse = true, parallelism = 2)
+    public void failuresTest(JsonParamCase testCase) {
+        if (testCase.getName().equals("multi/file.json[0]")) {
+            runCase(testCase);
+        } else {
+            // Every other test case in the failures directory fails
+            assertThrows(JsonParamError.class, () -> runCase(testCase));
+        }
+
+        // The test files were loaded using the config of the test instance
+        assertTrue(this.getConfig().getCache().getMissCount() > 0);
+    }
+
+    @Test
+    public void resourcesNotExistTest() {
+        ExtensionContext context = mock(ExtensionContext.class);
+        when(context.getRequiredTestClass()).then(invocation -> JsonParamSourceFailuresTest.class);
+        when(context.getTestInstance()).thenReturn(Optional.empty());
+
+        JsonParamArgumentsProvider provider = new JsonParamArgumentsProvider();
+        provider.accept(source("/notexist", ""));
+
+        JsonParamError exception =
+                assertThrows(JsonParamError.class, () -> provider.provideArguments(null, context));
+        assertEquals("The provided resources directory does not exist.", exception.getMessage());
+    }
+
+    @Test
+    public void bundleNotExistTest() {
+        ExtensionContext context = mock(ExtensionContext.class);
+        when(context.getRequiredTestClass()).then(invocation -> JsonParamSourceFailuresTest.class);
+        when(context.getTestInstance()).thenReturn(Optional.empty());
+
+        JsonParamArgumentsProvider provider = new JsonParamArgumentsProvider();
+        provider.accept(source("/failures", "/notexist.jpub"));
+
+        JsonParamError exception =
+                assertThrows(JsonParamError.class, () -> provider.provideArguments(null, context));
+        assertEquals("The provided bundle does not exist.", exception.getMessage());
+    }
+
+    @Test
+    public void closeTest() throws Exception {
+        ExtensionContext context = mock(ExtensionContext.class);
+        when(context.getRequiredTestClass()).then(invocation -> JsonParamSourceFailuresTest.class);
+        when(context.getTestInstance()).thenReturn(Optional.empty());
+
+        // Closing the stream cancels the test files still being parsed
+        JsonParamArgumentsProvider provider = new JsonParamArgumentsProvider();
+        provider.accept(source("/files", ""));
+        try (Stream<? extends Arguments> arguments = provider.provideArguments(null, context)) {
+            Iterator<? extends Arguments> iterator = arguments.iterator();
+            assertEquals("bar.json",
+                    ((JsonParamCase) iterator.next().get()[0]).getName());
+        }
+    }
+
+    @Test
+    public void jarTest() {
+        ExtensionContext context = mock(ExtensionContext.class);
+        when(context.getRequiredTestClass()).then(invocation -> JsonParamSourceFailuresTest.class);
+        when(context.getTestInstance()).thenReturn(Optional.empty());
+
+        // The test files of the JUnit jar cannot be read as files
+        JsonParamArgumentsProvider provider = new JsonParamArgumentsProvider();
+        provider.accept(source("/org/junit/jupiter/api", ""));
+        JsonParamError exception =
+                assertThrows(JsonParamError.class, () -> provider.provideArguments(null, context));
+        assertEquals("The provided resources directory must not be inside a jar.",
+                exception.getMessage());
+
+        provider.accept(source("/failures", "/org/junit/jupiter/api/Test.class"));
+        exception =
+                assertThrows(JsonParamError.class, () -> provider.provideArguments(null, context));
+        assertEquals("The provided bundle must not be inside a jar.", exception.getMessage());
+    }
+
+    @Override
+    public JsonNode process(JsonNode input, String context) {
+        return input;
+    }
+
+    private static JsonParamSource source(String resources, String bundle) {
+        return new JsonParamSource() {
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return JsonParamSource.class;
+            }
+
+            @Override
+            public String resources() {
+                return resources;
+            }
+
+            @Override
+            public String fileExtension() {
+                return ".json";
+            }
+
+            @Override
+            public boolean recurse() {
+                return false;
+            }
+
+            @Override
+            public int parallelism() {
+                return 2;
+            }
+
+            @Override
+            public String bundle() {
+                return bundle;
+            }
+
+            @Override
+            public String config() {
+                return "";
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Test the JsonParamSource annotation.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamSourceTest extends JsonNodeParamUnit {
+
+    @ParameterizedTest(name = "{0}")
+    @JsonParamSource(resources = "/multi", fileExtension = "")
+    public void multiTest(JsonParamCase testCase) {
+        runCase(testCase);
+    }
+
+    @BeforeAll
+    public static void writeBundle() throws Exception {
+        // Only the newline delimited test file is in the bundle, the others are read from the file
+        Path root = Path.of(JsonParamSourceTest.class.getResource("/").toURI());
+        JsonParamBundle.write(root.resolve("multi"), ".ndjson", false,
+                root.resolve("multi.jpub"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @JsonParamSource(resources = "/multi", fileExtension = "", bundle = "/multi.jpub")
+    public void bundleTest(JsonParamCase testCase) {
+        runCase(testCase);
+    }
+
+    @Test
+    public void nullTest() {
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> {
+            runCase(null);
+        });
+
+        assertEquals("The provided testCase is null.", exception.getMessage());
+    }
+
+    @Override
+    public JsonNode process(JsonNode input, String context) {
+        ObjectNode node = this.getConfig().getMapper().createObjectNode();
+        node.put("sum", input.get("a").intValue() + input.get("b").intValue());
+        return node;
+    }
+}
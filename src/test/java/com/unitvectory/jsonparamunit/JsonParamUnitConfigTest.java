@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.lang.ref.WeakReference;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Test the JsonParamUnitConfig class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamUnitConfigTest {
+
+    @Test
+    public void defaultsTest() {
+        JsonParamUnitConfig defaults = JsonParamUnitConfig.defaults();
+        assertSame(defaults, JsonParamUnitConfig.defaults());
+        assertSame(defaults, JsonParamUnitConfig.builder().build().intern());
+
+        // Test classes that do not provide a config share the default config
+        JsonNodeParamUnit unit = new JsonNodeParamUnit() {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                return input;
+            }
+        };
+        assertSame(defaults, unit.getConfig());
+    }
+
+    @Test
+    public void defaultMapperTest() {
+        // Configs without a mapper share the default mapper and its codec
+        JsonParamUnitConfig config = JsonParamUnitConfig.builder().strictOutput(false).build();
+        assertSame(JsonParamUnitConfig.defaults().getCodec(), config.getCodec());
+
+        // Each config hands out its own copy of the default mapper so it cannot be modified
+        ObjectMapper copy = config.getMapper();
+        assertSame(copy, config.getMapper());
+        copy.enable(SerializationFeature.INDENT_OUTPUT);
+        assertTrue(config.getMapper().isEnabled(SerializationFeature.INDENT_OUTPUT));
+        assertFalse(JsonParamUnitConfig.builder().build().getMapper()
+                .isEnabled(SerializationFeature.INDENT_OUTPUT));
+        assertSame(JsonParamUnitConfig.defaults().getCodec(), config.getCodec());
+        assertEquals(config, JsonParamUnitConfig.builder().strictOutput(false).build());
+
+        ObjectMapper provided = new ObjectMapper();
+        JsonParamUnitConfig mapper = JsonParamUnitConfig.builder().mapper(provided).build();
+        assertSame(provided, mapper.getMapper());
+        assertNotSame(JsonParamUnitConfig.defaults().getCodec(), mapper.getCodec());
+
+        JsonParamUnitConfig modules =
+                JsonParamUnitConfig.builder().module(new SimpleModule("test")).build();
+        assertNotSame(JsonParamUnitConfig.defaults().getCodec(), modules.getCodec());
+    }
+
+    @Test
+    public void internTest() {
+        JsonParamUnitConfig first = JsonParamUnitConfig.builder().maxDifferences(3).build();
+        JsonParamUnitConfig second = JsonParamUnitConfig.builder().maxDifferences(3).build();
+        assertNotSame(first, second);
+        assertEquals(first, second);
+
+        JsonParamUnitConfig interned = first.intern();
+        assertSame(interned, second.intern());
+        assertNotSame(interned, JsonParamUnitConfig.builder().maxDifferences(4).build().intern());
+    }
+
+    @Test
+    public void internReclaimedTest() throws Exception {
+        // The registry does not keep configs that are no longer used alive
+        WeakReference<JsonParamUnitConfig> reference = new WeakReference<>(
+                JsonParamUnitConfig.builder().maxDifferences(5).build().intern());
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Test the JsonParamWatcher class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonParamWatcherTest {
+
+    private static final String PASSING = "{\"input\":{\"a\":1},\"output\":{\"a\":1}}";
+
+    private static final String FAILING = "{\"input\":{\"a\":1},\"output\":{\"a\":2}}";
+
+    private static final JsonNodeParamUnit UNIT = new JsonNodeParamUnit() {
+
+        @Override
+        protected JsonNode process(JsonNode input, String context) {
+            if (input.has("boom")) {
+                throw new IllegalStateException("boom");
+            }
+
+            return input;
+        }
+    };
+
+    @TempDir
+    Path tempDir;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    private final PrintStream output = new PrintStream(this.bytes, true, StandardCharsets.UTF_8);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    private JsonParamWatcher.JsonParamWatcherBuilder builder() {
+        return JsonParamWatcher.builder().unit(UNIT).directory(this.tempDir).output(this.output);
+    }
+
+    private String output() {
+        return this.bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private void await(String text) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!output().contains(text)) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for: " + text);
+            Thread.sleep(10);
+        }
+    }
+
+    private Future<?> start(JsonParamWatcher watcher) throws Exception {
+        Future<?> watching = this.executor.submit(() -> {
+            watcher.watch();
+            return null;
+        });
+        await("Watching");
+        return watching;
+    }
+
+    @Test
+    public void watchTest() throws Exception {
+        JsonParamWatcher watcher = builder().build();
+        Future<?> watching = start(watcher);
+
+        Files.writeString(this.tempDir.resolve("a.json"), PASSING);
+        await("PASS a.json (1 passed, 0 failed");
+
+        // Only the test files are run
+        Files.writeString(this.tempDir.resolve("b.txt"), PASSING);
+        Files.writeString(this.tempDir.resolve("a.json"), FAILING);
+        await("FAIL a.json (0 passed, 1 failed");
+
+        // Directories created are watched as well
+        Path sub = Files.createDirectory(this.tempDir.resolve("sub"));
+        Files.writeString(sub.resolve("c.json"), PASSING);
+        await("PASS sub/c.json");
+        Files.writeString(sub.resolve("c.json"), FAILING);
+        await("FAIL sub/c.json");
+
+        watcher.close();
+        watching.get(30, TimeUnit.SECONDS);
+        assertFalse(output().contains("b.txt"));
+    }
+
+    @Test
+    public void notRecursiveTest() throws Exception {
+        JsonParamWatcher watcher = builder().recurse(false).build();
+        Future<?> watching = start(watcher);
+
+        Path sub = Files.createDirectory(this.tempDir.resolve("sub"));
+        Files.writeString(sub.resolve("c.json"), PASSING);
+        Files.writeString(this.tempDir.resolve("a.json"), PASSING);
+        await("PASS a.json");
+
+        watcher.close();
+        watching.get(30, TimeUnit.SECONDS);
+        assertFalse(output().contains("sub"));
+    }
+
+    @Test
+    public void runTest() throws Exception {
+        Path file = Files.writeString(this.tempDir.resolve("a.json"), "[" + PASSING + ","
+                + FAILING + ",{\"input\":{\"boom\":1},\"output\":{}}]");
+        JsonParamWatcher watcher = builder().build();
+        watcher.rerun(List.of(file, this.tempDir.resolve("missing.json")));
+        watcher.run(this.tempDir.resolve("deleted.json"));
+
+        String[] lines = output().split("\n");
+        assertEquals(6, lines.length);
+        assertEquals("FAIL a.json[1]: The actual output does not match the expected output.",
+                lines[0]);
+        assertEquals("/a: expected 2 but was 1", lines[1]);
+        assertEquals("FAIL a.json[2]: boom", lines[2]);
+        assertTrue(lines[3].startsWith("FAIL a.json (1 passed, 2 failed, 0 skipped in "));
+        assertEquals("FAIL deleted.json: The provided filePath does not exist.", lines[4]);
+        assertTrue(lines[5].startsWith("FAIL deleted.json (0 passed, 1 failed, 0 skipped in "));
+    }
+
+    @Test
+    public void skipTest() throws Exception {
+        Path file = Files.writeString(this.tempDir.resolve("a.json"), PASSING);
+        JsonParamResultCache cache = new JsonParamResultCache(
+                this.tempDir.resolve("results.txt"), List.of(), false);
+        JsonNodeParamUnit unit =
+                new JsonNodeParamUnit(JsonParamUnitConfig.builder().resultCache(cache).build()) {
+
+                    @Override
+                    protected JsonNode process(JsonNode input, String context) {
+                        return input;
+                    }
+                };
+        JsonParamWatcher watcher = builder().unit(unit).build();
+        watcher.run(file);
+        watcher.run(file);
+
+        String[] lines = output().split("\n");
+        assertTrue(lines[0].startsWith("PASS a.json (1 passed, 0 failed, 0 skipped in "));
+        assertTrue(lines[1].startsWith("PASS a.json (0 passed, 0 failed, 1 skipped in "));
+    }
+
+    @Test
+    public void overflowTest() throws Exception {
+        WatchEvent<Object> overflow = new WatchEvent<Object>() {
+
+            @Override
+            public Kind<Object> kind() {
+                return StandardWatchEventKinds.OVERFLOW;
+            }
+
+            @Override
+            public int count() {
+                return 1;
+            }
+
+            @Override
+            public Object context() {
+                return null;
+            }
+        };
+
+        Set<Path> changed = new TreeSet<>();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            builder().build().collect(this.tempDir, List.of(overflow), changed, watchService);
+        }
+
+        assertTrue(changed.isEmpty());
+        assertEquals("Some changes were missed; save the test files again to run them.\n",
+                output());
+    }
+
+    @Test
+    public void closedTest() throws Exception {
+        JsonParamWatcher watcher = builder().build();
+        watcher.close();
+        watcher.watch();
+        assertEquals("", output());
+    }
+
+    @Test
+    public void invalidTest() {
+        assertEquals("The provided unit is null.", assertThrows(JsonParamError.class,
+                () -> JsonParamWatcher.builder().directory(this.tempDir).build().watch())
+                        .getMessage());
+        assertEquals("The provided directory is null.", assertThrows(JsonParamError.class,
+                () -> JsonParamWatcher.builder().unit(UNIT).build().watch()).getMessage());
+        assertEquals("Failed to watch the corpus directory.",
+                assertThrows(JsonParamError.class,
+                        () -> builder().directory(this.tempDir.resolve("missing")).build()
+                                .watch()).getMessage());
+    }
+}
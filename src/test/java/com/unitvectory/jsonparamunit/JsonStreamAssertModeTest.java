@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import java.io.IOException;
+import org.junit.jupiter.params.ParameterizedTest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.unitvectory.fileparamunit.ListFileSource;
+
+/**
+ * Test implementation of the JsonStreamParamUnit class using the JSONAssert comparison mode.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonStreamAssertModeTest extends JsonStreamParamUnit {
+
+    /**
+     * Creates a new instance of the JsonStreamAssertModeTest.
+     */
+    public JsonStreamAssertModeTest() {
+        super(JsonParamUnitConfig.builder().comparisonMode(ComparisonMode.JSON_ASSERT).build());
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/files", fileExtension = ".json", recurse = true)
+    public void testIt(String file) {
+        // Utilize jsonparamunit to have a test case for each JSON file
+        run(file);
+    }
+
+    @Override
+    public void process(JsonParser input, JsonGenerator output, String context)
+            throws IOException {
+        JsonNode node = input.readValueAsTree();
+        output.writeStartObject();
+        output.writeBooleanField("success", node.get("foo").intValue() == 1);
+        output.writeEndObject();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.unitvectory.fileparamunit.ListFileSource;
+
+/**
+ * Test implementation of the JsonStreamParamUnit class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonStreamTest extends JsonStreamParamUnit {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/files", fileExtension = ".json", recurse = true)
+    public void testIt(String file) {
+        // Utilize jsonparamunit to have a test case for each JSON file
+        run(file);
+    }
+
+    @Test
+    public void largeTest() throws Exception {
+        Path file = this.tempDir.resolve("large.json");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (String field : new String[] {"input", "output"}) {
+                writer.write(field.equals("input") ? "{\"context\":\"copy\",\"input\":["
+                        : ",\"output\":[");
+                for (int i = 0; i < 100000; i++) {
+                    writer.write((i == 0 ? "" : ",") + "{\"id\":" + i + ",\"name\":\"n" + i
+                            + "\"}");
+                }
+                writer.write("]");
+            }
+            writer.write("}");
+        }
+
+        run(file.toString());
+    }
+
+    @Test
+    public void reorderedTest() throws Exception {
+        // The tokens differ but the fields are compared by name without reading the trees
+        run(write("{\"context\":\"copy\",\"input\":{\"a\":1,\"b\":[1.0]},"
+                + "\"output\":{\"b\":[1],\"a\":1}}"));
+        assertEquals(0, getTreeFallbackCount());
+    }
+
+    @Test
+    public void lenientTest() throws Exception {
+        JsonStreamParamUnit lenient =
+                new JsonStreamParamUnit(JsonParamUnitConfig.builder().strictOutput(false).build()) {
+
+                    @Override
+                    protected void process(JsonParser input, JsonGenerator output,
+                            String context) throws IOException {
+                        JsonStreamTest.this.process(input, output, context);
+                    }
+                };
+
+        // The extra field is only allowed by comparing the trees
+        lenient.run(write("{\"context\":\"copy\",\"input\":{\"a\":1,\"b\":2},"
+                + "\"output\":{\"a\":1}}"));
+        assertEquals(1, lenient.getTreeFallbackCount());
+    }
+
+    @Test
+    public void scalarTest() throws Exception {
+        run(write("{\"context\":\"copy\",\"input\":\"a\",\"output\":\"a\"}"));
+
+        // The tokens are of different types but the numbers are equal
+        run(write("{\"context\":\"copy\",\"input\":1.0,\"output\":1}"));
+    }
+
+    @Test
+    public void mismatchTest() throws Exception {
+        String file = write("{\"context\":\"copy\",\"input\":{\"a\":1},\"output\":{\"a\":2}}");
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> run(file));
+        assertEquals("The actual output does not match the expected output.\n"
+                + "/a: expected 2 but was 1", exception.getMessage());
+    }
+
+    @Test
+    public void trailingTest() throws Exception {
+        // Only a single value may be written
+        String file =
+                write("{\"context\":\"twice\",\"input\":{\"a\":1},\"output\":{\"a\":1}}");
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> run(file));
+        assertEquals("The actual output does not match the expected output.\n"
+                + "(root): unexpected an object after the output", exception.getMessage());
+    }
+
+    @Test
+    public void failTest() throws Exception {
+        String file = write("{\"context\":\"fail\",\"input\":{},\"output\":{}}");
+        JsonParamError exception = assertThrows(JsonParamError.class, () -> run(file));
+        assertEquals("Failed to process the input as a stream.", exception.getMessage());
+
+        exception = assertThrows(JsonParamError.class,
+                () -> process(JsonNodeFactory.instance.objectNode(), "fail"));
+        assertEquals("Failed to process the input as a stream.", exception.getMessage());
+    }
+
+    @Test
+    public void processNodeTest() {
+        assertEquals("{\"a\":1}",
+                process(JsonNodeFactory.instance.objectNode().put("a", 1), "copy").toString());
+    }
+
+    @Override
+    public void process(JsonParser input, JsonGenerator output, String context)
+            throws IOException {
+        if ("copy".equals(context)) {
+            input.nextToken();
+            output.copyCurrentStructure(input);
+            return;
+        } else if ("twice".equals(context)) {
+            input.nextToken();
+            output.copyCurrentStructure(input);
+            output.writeStartObject();
+            output.writeEndObject();
+            return;
+        } else if ("fail".equals(context)) {
+            throw new IOException("fail");
+        }
+
+        int foo = 0;
+        input.nextToken();
+        while (input.nextToken() == JsonToken.FIELD_NAME) {
+            String name = input.currentName();
+            input.nextToken();
+            if ("foo".equals(name)) {
+                foo = input.getIntValue();
+            }
+        }
+
+        output.writeStartObject();
+        output.writeBooleanField("success", foo == 1);
+        output.writeEndObject();
+    }
+
+    private String write(String content) throws Exception {
+        return Files.writeString(this.tempDir.resolve("case.json"), content).toString();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import com.unitvectory.fileparamunit.ListFileSource;
+
+/**
+ * Test implementation of the JsonStringParamUnit class receiving the raw text of the input.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonStringRawTest extends JsonStringParamUnit {
+
+    /**
+     * Creates a new instance of the JsonStringRawTest.
+     */
+    public JsonStringRawTest() {
+        super(JsonParamUnitConfig.builder().rawStringInput(true).build());
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/raw", fileExtension = ".json")
+    public void testIt(String file) {
+        // The output holds the input exactly as it was received
+        run(file);
+    }
+
+    @Override
+    public String process(String input, String context) {
+        return this.getConfig().getMapper().createObjectNode().put("raw", input).toString();
+    }
+}
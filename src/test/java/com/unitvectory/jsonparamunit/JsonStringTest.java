@@ -8,7 +8,10 @@
  */
 package com.unitvectory.jsonparamunit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.unitvectory.fileparamunit.ListFileSource;
 
 /**
@@ -25,6 +28,12 @@ public class JsonStringTest extends JsonStringParamUnit {
         run(file);
     }
 
+    @Test
+    public void processNodeTest() {
+        assertEquals("{\"success\":true}",
+                process(JsonNodeFactory.instance.objectNode().put("foo", 1), null).toString());
+    }
+
     @Override
     public String process(String input, String context) {
         if (input.contains("1")) {
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test the JsonTokenComparator class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class JsonTokenComparatorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final JsonTokenComparator STRICT = new JsonTokenComparator(true, 200);
+
+    private static final JsonTokenComparator LENIENT = new JsonTokenComparator(false, 200);
+
+    private static final String TREE = "compared as trees";
+
+    private static String compare(JsonTokenComparator comparator, String expected, String actual)
+            throws Exception {
+        try (JsonParser expectedParser = MAPPER.createParser(expected);
+                JsonParser actualParser = MAPPER.createParser(actual)) {
+            return comparator.compare(expectedParser, actualParser, () -> TREE);
+        }
+    }
+
+    @Test
+    public void equalTest() throws Exception {
+        String json = "{\"a\":1,\"b\":[true,null,\"x\",[]],\"c\":{\"d\":1.5,\"e\":{}}}";
+        assertNull(compare(STRICT, json, json));
+        assertNull(compare(LENIENT, json, json));
+
+        // Numbers are compared by value
+        assertNull(compare(STRICT, "[1,1.0,12345678901234567890]", "[1.0,1,12345678901234567890]"));
+    }
+
+    @Test
+    public void scalarTest() throws Exception {
+        assertEquals("/a/1: expected 2 but was 3",
+                compare(STRICT, "{\"a\":[1,2,3]}", "{\"a\":[1,3,2]}"));
+        assertEquals("/a: expected \"x\" but was 1", compare(STRICT, "{\"a\":\"x\"}", "{\"a\":1}"));
+        assertEquals("(root): expected true but was null", compare(STRICT, "true", "null"));
+        assertEquals("(root): expected \"abc\"... but was \"x\"",
+                compare(new JsonTokenComparator(true, 3), "\"abcdef\"", "\"x\""));
+    }
+
+    @Test
+    public void typeTest() throws Exception {
+        assertEquals("/a: expected an object but was an array",
+                compare(STRICT, "{\"a\":{\"b\":1}}", "{\"a\":[1]}"));
+        assertEquals("/a: expected an array but was an object",
+                compare(STRICT, "{\"a\":[1]}", "{\"a\":{\"b\":1}}"));
+        assertEquals("/a: expected 1 but was an object",
+                compare(STRICT, "{\"a\":1}", "{\"a\":{\"b\":1}}"));
+        assertEquals("(root): expected an array but was 1", compare(STRICT, "[1]", "1"));
+    }
+
+    @Test
+    public void objectTest() throws Exception {
+        assertEquals("/b: expected 1 but none found",
+                compare(STRICT, "{\"a\":1,\"b\":1}", "{\"a\":1}"));
+        assertEquals("/b: unexpected an object",
+                compare(STRICT, "{\"a\":1}", "{\"a\":1,\"b\":{\"c\":1}}"));
+        assertEquals("/a~1b/c~0d: expected 1 but was 2",
+                compare(STRICT, "{\"a/b\":{\"c~d\":1}}", "{\"a/b\":{\"c~d\":2}}"));
+    }
+
+    @Test
+    public void arrayTest() throws Exception {
+        assertEquals("/a/2: expected 3 but none found",
+                compare(STRICT, "{\"a\":[1,2,3]}", "{\"a\":[1,2]}"));
+        assertEquals("/a/2: unexpected an array",
+                compare(STRICT, "{\"a\":[1,2]}", "{\"a\":[1,2,[4]]}"));
+        assertEquals("/1/0/x: expected 1 but was 2",
+                compare(STRICT, "[[],[{\"x\":1}]]", "[[],[{\"x\":2}]]"));
+    }
+
+    @Test
+    public void trailingTest() throws Exception {
+        // Only a single value may be written
+        assertEquals("(root): unexpected 1 after the output", compare(STRICT, "{}", "{} 1"));
+        assertEquals("(root): unexpected an array after the output",
+                compare(LENIENT, "{\"a\":1}", "{\"a\":1,\"b\":{\"c\":[1]}} []"));
+
+        // The first difference is reported before any value that follows
+        assertEquals("(root): expected 1 but was 2", compare(STRICT, "1", "2 3"));
+    }
+
+    @Test
+    public void reorderedTest() throws Exception {
+        // Fields in a different order are compared by name without comparing the trees
+        JsonTokenComparator comparator = new JsonTokenComparator(true, 200);
+        assertNull(compare(comparator, "{\"a\":1,\"b\":{\"c\":1,\"d\":[1]},\"e\":2}",
+                "{\"a\":1,\"e\":2,\"b\":{\"d\":[1],\"c\":1}}"));
+        assertNull(compare(comparator, "[{\"a\":1,\"b\":2},3]", "[{\"b\":2,\"a\":1},3]"));
+        assertEquals(0, comparator.getFallbackCount());
+
+        // The comparison continues after the reordered object
+        assertEquals("/1: expected 3 but was 4",
+                compare(comparator, "[{\"a\":1,\"b\":2},3]", "[{\"b\":2,\"a\":1},4]"));
+        assertEquals("/b/d/0: expected 1 but was 2",
+                compare(comparator, "{\"a\":1,\"b\":{\"c\":1,\"d\":[1]}}",
+                        "{\"b\":{\"d\":[2],\"c\":1},\"a\":1}"));
+        assertEquals("/b: expected 2 but none found",
+                compare(comparator, "{\"a\":1,\"b\":2}", "{\"c\":2,\"a\":1}"));
+        assertEquals("/c: unexpected 3",
+                compare(comparator, "{\"a\":1,\"b\":2}", "{\"b\":2,\"c\":3,\"a\":1}"));
+        assertEquals(0, comparator.getFallbackCount());
+    }
+
+    @Test
+    public void fallbackTest() throws Exception {
+        JsonTokenComparator strict = new JsonTokenComparator(true, 200);
+        JsonTokenComparator lenient = new JsonTokenComparator(false, 200);
+
+        // Nothing written
+        assertEquals(TREE, compare(strict, "{}", ""));
+        assertEquals(1, strict.getFallbackCount());
+
+        // Reordered fields beyond the buffer of either output
+        JsonTokenComparator bounded = new JsonTokenComparator(true, 200, 4);
+        assertNull(compare(bounded, "{\"a\":1,\"b\":2}", "{\"b\":2,\"a\":1}"));
+        assertEquals(TREE, compare(bounded, "{\"a\":1,\"b\":2,\"c\":3}",
+                "{\"b\":2,\"a\":1,\"c\":3}"));
+        assertEquals(TREE, compare(bounded, "{\"a\":1,\"b\":2}",
+                "{\"b\":2,\"a\":1,\"c\":{}}"));
+        assertEquals(2, bounded.getFallbackCount());
+
+        // Lenient differences may be allowed
+        assertNull(compare(lenient, "{\"a\":1}", "{\"a\":1}"));
+        assertEquals(TREE, compare(lenient, "{\"a\":1}", "{\"a\":1,\"b\":2}"));
+        assertEquals(TREE, compare(lenient, "[1,2]", "[2,1]"));
+        assertEquals(2, lenient.getFallbackCount());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.unitvectory.fileparamunit.ListFileSource;
+
+/**
+ * Test files containing multiple test cases as a JSON Array and as newline delimited JSON.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class MultiCaseTest extends JsonNodeParamUnit {
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/multi", fileExtension = ".json")
+    public void arrayTest(String file) {
+        run(file);
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/multi", fileExtension = ".ndjson")
+    public void newlineDelimitedTest(String file) {
+        run(file);
+    }
+
+    @ParameterizedTest
+    @ListFileSource(resources = "/multi", fileExtension = "")
+    public void indexTest(String file) {
+        run(file, 0);
+        run(file, 2);
+    }
+
+    @Override
+    public JsonNode process(JsonNode input, String context) {
+        ObjectNode node = this.getConfig().getMapper().createObjectNode();
+        node.put("sum", input.get("a").intValue() + input.get("b").intValue());
+        return node;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package com.unitvectory.jsonparamunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Test the performance budget declared in the test file.
+ *
+ * The test cases measure latency and allocation so they run isolated from the test classes run
+ * concurrently, and the budgets they must stay within are far above what process takes.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@Isolated
+public class PerformanceTest {
+
+    private static final int MAX_ALLOCATED_BYTES = 16 * 1024;
+
+    private static final String WITHIN =
+            "{\"warmupIterations\":2,\"iterations\":3,\"maxP50Micros\":1000000000}";
+
+    private static final String EXCEEDED =
+            "{\"warmupIterations\":0,\"iterations\":3,\"maxP50Micros\":0}";
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private volatile byte[] buffer;
+
+    @Test
+    public void nodeTest() throws Exception {
+        // Process always receives an input it has not already modified
+        JsonNodeParamUnit unit = new JsonNodeParamUnit() {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                calls.incrementAndGet();
+                assertFalse(input.has("seen"));
+                return ((ObjectNode) input).put("seen", context);
+            }
+        };
+
+        unit.run(write("{\"input\":{\"a\":1},\"context\":\"c\",\"output\":{\"a\":1,\"seen\":\"c\"},"
+                + "\"performance\":" + WITHIN + "}"));
+        assertEquals(6, this.calls.get());
+    }
+
+    @Test
+    public void nodeCachedTest() throws Exception {
+        // Cached test cases hold inputs that were already parsed
+        JsonNodeParamUnit unit = new JsonNodeParamUnit(
+                JsonParamUnitConfig.builder().cache(new JsonParamCache(10)).build()) {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                calls.incrementAndGet();
+                assertFalse(input.has("seen"));
+                return ((ObjectNode) input).put("seen", true);
+            }
+        };
+
+        String file = write("{\"input\":{\"a\":1},\"output\":{\"a\":1,\"seen\":true},"
+                + "\"performance\":" + WITHIN + "}");
+        unit.run(file);
+        unit.run(file);
+        assertEquals(12, this.calls.get());
+    }
+
+    @Test
+    public void classTest() throws Exception {
+        JsonClassParamUnit<Object, Object> unit =
+                new JsonClassParamUnit<Object, Object>(Object.class) {
+
+                    @Override
+                    protected Object process(Object input, String context) {
+                        calls.incrementAndGet();
+                        return input;
+                    }
+                };
+
+        unit.run(write("{\"input\":{\"a\":1},\"output\":{\"a\":1},\"performance\":" + WITHIN
+                + "}"));
+        assertEquals(6, this.calls.get());
+    }
+
+    @Test
+    public void stringTest() throws Exception {
+        String file = write("{\"input\":{\"a\": 1},\"output\":{\"a\":1},\"performance\":"
+                + WITHIN + "}");
+        string(false).run(file);
+        assertEquals(6, this.calls.get());
+
+        string(true).run(file);
+        assertEquals(12, this.calls.get());
+    }
+
+    @Test
+    public void streamTest() throws Exception {
+        String file = write("{\"input\":{\"a\":[1,2]},\"output\":{\"a\":[1,2]},\"performance\":"
+                + WITHIN + "}");
+        stream(-1).run(file);
+        assertEquals(6, this.calls.get());
+    }
+
+    @Test
+    public void streamFailedTest() throws Exception {
+        // The output of the measured calls is discarded but they must still succeed
+        String file = write("{\"input\":{\"a\":1},\"output\":{\"a\":1},\"performance\":"
+                + WITHIN + "}");
+        JsonParamError error = assertThrows(JsonParamError.class, () -> stream(2).run(file));
+        assertEquals("Failed to process the input as a stream.", error.getMessage());
+    }
+
+    @Test
+    public void exceededTest() throws Exception {
+        String file = write("{\"input\":{\"a\":1},\"output\":{\"a\":1},\"performance\":"
+                + EXCEEDED + "}");
+        JsonParamError error = assertThrows(JsonParamError.class, () -> slow().run(file));
+        assertTrue(error.getMessage()
+                .startsWith("The test case exceeded its latency budget over 3 iterations.\np50: "),
+                error.getMessage());
+        assertTrue(error.getMessage().endsWith("us (no limit)"), error.getMessage());
+    }
+
+    @Test
+    public void allocationTest() throws Exception {
+        // Binding and encoding the large input, far larger than the budget, are not counted
+        StringBuilder array = new StringBuilder("[0");
+        for (int i = 1; i < 10000; i++) {
+            array.append(',').append(i);
+        }
+
+        String input = "{\"a\":" + array + "]}";
+        String file = write("{\"input\":" + input + ",\"output\":" + input + ",\"performance\":"
+                + "{\"warmupIterations\":2,\"iterations\":3,\"maxAllocatedBytes\":"
+                + MAX_ALLOCATED_BYTES + "}}");
+        new JsonClassParamUnit<Object, Object>(Object.class) {
+
+            @Override
+            protected Object process(Object input, String context) {
+                return input;
+            }
+        }.run(file);
+        string(false).run(file);
+    }
+
+    @Test
+    public void allocationExceededTest() throws Exception {
+        String file = write("{\"input\":{\"a\":1},\"output\":{\"a\":1},\"performance\":"
+                + "{\"iterations\":3,\"maxAllocatedBytes\":" + MAX_ALLOCATED_BYTES + "}}");
+        JsonNodeParamUnit unit = new JsonNodeParamUnit() {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                buffer = new byte[1 << 20];
+                return input;
+            }
+        };
+
+        JsonParamError error = assertThrows(JsonParamError.class, () -> unit.run(file));
+        assertTrue(error.getMessage().startsWith(
+                "The test case exceeded its allocation budget over 3 iterations.\nallocated: "),
+                error.getMessage());
+        assertTrue(error.getMessage().endsWith(" bytes (max " + MAX_ALLOCATED_BYTES + " bytes)"),
+                error.getMessage());
+    }
+
+    @Test
+    public void mismatchTest() throws Exception {
+        // An incorrect output fails without measuring process
+        String file = write("{\"input\":{\"a\":1},\"output\":{\"a\":2},\"performance\":"
+                + EXCEEDED + "}");
+        JsonParamError error = assertThrows(JsonParamError.class, () -> slow().run(file));
+        assertEquals("The actual output does not match the expected output.\n"
+                + "/a: expected 2 but was 1", error.getMessage());
+        assertEquals(1, this.calls.get());
+    }
+
+    @Test
+    public void invalidTest() throws Exception {
+        String file = write("{\"input\":{\"a\":1},\"output\":{\"a\":1},\"performance\":"
+                + "{\"iterations\":0}}");
+        JsonParamError error = assertThrows(JsonParamError.class, () -> slow().run(file));
+        assertEquals("The 'performance' field 'iterations' must be an integer of at least 1.",
+                error.getMessage());
+        assertEquals(0, this.calls.get());
+    }
+
+    private String write(String content) throws IOException {
+        return Files.writeString(this.tempDir.resolve("t.json"), content).toString();
+    }
+
+    private JsonNodeParamUnit slow() {
+        return new JsonNodeParamUnit() {
+
+            @Override
+            protected JsonNode process(JsonNode input, String context) {
+                calls.incrementAndGet();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return input;
+            }
+        };
+    }
+
+    private JsonStringParamUnit string(boolean raw) {
+        return new JsonStringParamUnit(
+                JsonParamUnitConfig.builder().rawStringInput(raw).build()) {
+
+            @Override
+            protected String process(String input, String context) {
+                calls.incrementAndGet();
+                return input;
+            }
+        };
+    }
+
+    private JsonStreamParamUnit stream(int failAt) {
+        return new JsonStreamParamUnit() {
+
+            @Override
+            protected void process(JsonParser input, JsonGenerator output, String context)
+                    throws IOException {
+                if (calls.incrementAndGet() == failAt) {
+                    throw new IOException("failed");
+                }
+
+                input.nextToken();
+                output.copyCurrentStructure(input);
+            }
+        };
+    }
+}